@@ -0,0 +1,98 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import utils.AssetBundle;
+import utils.AssetsLoader;
+import utils.Constants;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asset loading with an empty cache (cold) and a filled one (warm), and one
+ * window-sized image decoded from PNG versus copied out of a baked bundle
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+public class AssetLoadingBenchmarks {
+    @State(Scope.Thread)
+    public static class WarmCache {
+        @Setup
+        public void setUp() {
+            AssetsLoader.loadAllAssets();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Images {
+        byte[] png;
+        AssetBundle bundle;
+
+        @Setup
+        public void setUp() throws IOException {
+            BufferedImage image = sampleImage();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", out);
+            png = out.toByteArray();
+
+            Path file = Files.createTempFile("bench", ".bundle");
+            file.toFile().deleteOnExit();
+            new AssetBundle.Builder().add("sample", image).write(file);
+            bundle = AssetBundle.open(file);
+        }
+    }
+
+    @Benchmark
+    public void loadAllAssetsCold(Blackhole blackhole) {
+        AssetsLoader.clearAssets();
+        AssetsLoader.loadAllAssets();
+        blackhole.consume(AssetsLoader.isAssetsLoaded());
+    }
+
+    @Benchmark
+    public void loadAllAssetsWarm(WarmCache cache, Blackhole blackhole) {
+        AssetsLoader.loadAllAssets();
+        blackhole.consume(AssetsLoader.isAssetsLoaded());
+    }
+
+    @Benchmark
+    public void decodePng(Images images, Blackhole blackhole) throws IOException {
+        blackhole.consume(ImageIO.read(new ByteArrayInputStream(images.png)));
+    }
+
+    @Benchmark
+    public void copyFromBundle(Images images, Blackhole blackhole) {
+        blackhole.consume(images.bundle.getImage("sample"));
+    }
+
+    // Gradient with alpha, so PNG compression is not trivially cheap
+    private static BufferedImage sampleImage() {
+        BufferedImage image = new BufferedImage(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT,
+                BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, ((x ^ y) & 0xFF) << 24 | (x & 0xFF) << 16 | (y & 0xFF) << 8 | ((x + y) & 0xFF));
+            }
+        }
+        return image;
+    }
+}
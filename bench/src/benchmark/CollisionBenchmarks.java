@@ -0,0 +1,50 @@
+package benchmark;
+
+import core.ObstacleBuffer;
+import core.ObstacleFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import utils.Constants;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the collision check as obstacle density grows
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CollisionBenchmarks {
+    // Top and bottom pipes, so always even
+    @Param({"8", "32", "128", "512", "2048"})
+    int obstacles;
+
+    private ObstacleBuffer buffer;
+    private int birdY;
+
+    @Setup
+    public void setUp() {
+        buffer = ObstacleFixtures.pipes(obstacles / 2, 42);
+    }
+
+    @Benchmark
+    public void checkCollisions(Blackhole blackhole) {
+        // Sweep the bird up and down so both hits and misses are measured
+        birdY = (birdY + 7) % (Constants.WINDOW_HEIGHT - Constants.BIRD_HEIGHT);
+        blackhole.consume(buffer.intersects(Constants.BIRD_START_X, birdY,
+                Constants.BIRD_WIDTH, Constants.BIRD_HEIGHT));
+    }
+}
@@ -0,0 +1,144 @@
+package benchmark;
+
+import net.Leaderboard;
+import net.LeaderboardServer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loopback load test of the leaderboard server: many clients, each on a
+ * virtual thread with its own keep-alive connection, send a mix of
+ * submissions (50%), rank queries (40%) and top-10 queries (10%) back to
+ * back for a fixed time. Prints throughput and latency percentiles.
+ *
+ * Usage: LeaderboardLoadTest
+ * Tune with -Dload.clients, -Dload.seconds and -Dload.levels.
+ */
+public class LeaderboardLoadTest {
+    private static final int CLIENTS = Integer.getInteger("load.clients", 200);
+    private static final int SECONDS = Integer.getInteger("load.seconds", 10);
+    private static final int LEVELS = Integer.getInteger("load.levels", 3);
+
+    public static void main(String[] args) throws Exception {
+        LeaderboardServer server = new LeaderboardServer(new Leaderboard(), 0);
+        server.start();
+        int port = server.getPort();
+
+        long end = System.nanoTime() + SECONDS * 1_000_000_000L;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?>[] running = new Future<?>[CLIENTS];
+            long[][] latencies = new long[CLIENTS][];
+            for (int c = 0; c < CLIENTS; c++) {
+                int client = c;
+                running[c] = clients.submit(() -> latencies[client] = run(port, client, end));
+            }
+            for (Future<?> future : running) {
+                future.get();
+            }
+            report(latencies);
+        } finally {
+            server.stop();
+        }
+    }
+
+    // Requests back to back on one keep-alive connection until the deadline; returns each latency in ns
+    private static long[] run(int port, int client, long end) throws IOException {
+        Random random = new Random(client);
+        long[] latencies = new long[1024];
+        int count = 0;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setTcpNoDelay(true);
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            while (System.nanoTime() < end) {
+                int level = 1 + random.nextInt(LEVELS);
+                int kind = random.nextInt(10);
+                String request;
+                if (kind < 5) {
+                    request = "POST /scores?level=" + level + "&player=load" + client
+                            + "&score=" + random.nextInt(200) + " HTTP/1.1\r\nContent-Length: 0\r\n";
+                } else if (kind < 9) {
+                    request = "GET /rank?level=" + level + "&score=" + random.nextInt(200) + " HTTP/1.1\r\n";
+                } else {
+                    request = "GET /top?level=" + level + "&count=10 HTTP/1.1\r\n";
+                }
+
+                long start = System.nanoTime();
+                out.write((request + "Host: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                readResponse(in);
+                long latency = System.nanoTime() - start;
+
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = latency;
+            }
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    // Consume one response, failing on anything but 200
+    private static void readResponse(InputStream in) throws IOException {
+        String status = readLine(in);
+        if (!status.startsWith("HTTP/1.1 200")) {
+            throw new IOException("Unexpected response: " + status);
+        }
+        int length = 0;
+        String header;
+        while (!(header = readLine(in)).isEmpty()) {
+            if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                length = Integer.parseInt(header.substring(15).trim());
+            }
+        }
+        in.skipNBytes(length);
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\n') {
+            if (c < 0) throw new IOException("Connection closed");
+            if (c != '\r') line.append((char) c);
+        }
+        return line.toString();
+    }
+
+    private static void report(long[][] perClient) {
+        int total = 0;
+        for (long[] latencies : perClient) {
+            total += latencies.length;
+        }
+        long[] all = new long[total];
+        int position = 0;
+        for (long[] latencies : perClient) {
+            System.arraycopy(latencies, 0, all, position, latencies.length);
+            position += latencies.length;
+        }
+        Arrays.sort(all);
+
+        System.out.printf("%d clients, %d s: %d requests, %.0f req/s%n", CLIENTS, SECONDS, total,
+                (double) total / SECONDS);
+        if (total > 0) {
+            System.out.printf("latency p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+                    percentile(all, 0.50) / 1e6, percentile(all, 0.99) / 1e6,
+                    percentile(all, 0.999) / 1e6, all[total - 1] / 1e6);
+        }
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * fraction) - 1)];
+    }
+}
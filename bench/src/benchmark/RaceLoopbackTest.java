@@ -0,0 +1,115 @@
+package benchmark;
+
+import core.LevelManager;
+import net.PipeLog;
+import net.RaceClient;
+import net.RaceServer;
+import utils.Constants;
+import utils.LatencyHistogram;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Random;
+
+/**
+ * Loopback race between bot clients and a {@link RaceServer}. Each bot flaps
+ * whenever its predicted bird sinks below the middle of the next gap. Prints,
+ * every second, bandwidth per client in each direction and the input round
+ * trip (client send to snapshot echo, so it includes the wait for the server
+ * tick) of the first bot, then totals at the end.
+ *
+ * Usage: RaceLoopbackTest
+ * Tune with -Drace.clients and -Drace.seconds.
+ */
+public class RaceLoopbackTest {
+    private static final int CLIENTS = Integer.getInteger("race.clients", 16);
+    private static final int SECONDS = Integer.getInteger("race.seconds", 10);
+
+    public static void main(String[] args) throws Exception {
+        RaceServer server = new RaceServer(0, new LevelManager(), 42);
+        server.start();
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+
+        RaceClient[] clients = new RaceClient[CLIENTS];
+        for (int c = 0; c < CLIENTS; c++) {
+            clients[c] = new RaceClient(address);
+            clients[c].join(2000);
+        }
+
+        Random random = new Random(7);
+        long tickNanos = 1_000_000_000L / Constants.TICK_RATE;
+        long start = System.nanoTime();
+        long next = start;
+        long nextReport = start + 1_000_000_000L;
+        long lastDown = 0;
+        long lastUp = 0;
+        try {
+            while (System.nanoTime() - start < SECONDS * 1_000_000_000L) {
+                for (RaceClient client : clients) {
+                    client.update(shouldFlap(client, random));
+                }
+
+                long now = System.nanoTime();
+                if (now >= nextReport) {
+                    long down = server.getBytesSent();
+                    long up = server.getBytesReceived();
+                    LatencyHistogram.Summary roundTrips = clients[0].getRoundTrips();
+                    System.out.printf("%d clients: down %.0f B/s, up %.0f B/s per client; "
+                                    + "round trip p50 %.2f ms, p99 %.2f ms; corrections %d%n",
+                            server.getPlayerCount(), (down - lastDown) / (double) CLIENTS,
+                            (up - lastUp) / (double) CLIENTS, roundTrips.getP50() / 1e6,
+                            roundTrips.getP99() / 1e6, clients[0].getCorrections());
+                    lastDown = down;
+                    lastUp = up;
+                    nextReport += 1_000_000_000L;
+                }
+
+                next += tickNanos;
+                long sleep = next - System.nanoTime();
+                if (sleep > 0) {
+                    Thread.sleep(sleep / 1_000_000, (int) (sleep % 1_000_000));
+                }
+            }
+        } finally {
+            for (RaceClient client : clients) {
+                client.close();
+            }
+            server.stop();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long snapshots = 0;
+        long dropped = 0;
+        long corrections = 0;
+        for (RaceClient client : clients) {
+            snapshots += client.getSnapshots();
+            dropped += client.getDroppedSnapshots();
+            corrections += client.getCorrections();
+        }
+        System.out.printf("total: %.0f B/s down and %.0f B/s up per client, %.1f B per snapshot "
+                        + "(%d full of %d), %d dropped, %d corrections, %d late inputs%n",
+                server.getBytesSent() / seconds / CLIENTS, server.getBytesReceived() / seconds / CLIENTS,
+                (double) server.getBytesSent() / Math.max(1, server.getSnapshotsSent()),
+                server.getFullSnapshotsSent(), server.getSnapshotsSent(), dropped, corrections,
+                server.getLateInputs());
+        System.out.printf("snapshots applied: %d%n", snapshots);
+    }
+
+    // Flap below the middle of the next gap, with a little noise so bots spread out
+    private static boolean shouldFlap(RaceClient client, Random random) {
+        if (client.getBird() == null) {
+            return false;
+        }
+        PipeLog pipes = client.getPipes();
+        long tick = client.getPredictedTick();
+        int target = Constants.WINDOW_HEIGHT / 2;
+        for (long seq = pipes.firstLive(tick); seq < pipes.getCount(); seq++) {
+            if (pipes.contains(seq) && pipes.getX(seq, tick) + Constants.OBSTACLE_WIDTH >= Constants.BIRD_START_X) {
+                target = pipes.getGapY(seq) + pipes.getGapHeight(seq) / 2;
+                break;
+            }
+        }
+        return client.getBird().getY() + Constants.BIRD_HEIGHT / 2 > target + random.nextInt(20) - 10
+                && client.getBird().getYMotion() >= 0;
+    }
+}
@@ -0,0 +1,81 @@
+package benchmark;
+
+import core.GameManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ui.GameOverScreen;
+import ui.MainMenu;
+import utils.Constants;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full-frame rendering of each screen into an offscreen image
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmarks {
+    private GameManager gameManager;
+    private MainMenu mainMenu;
+    private GameOverScreen gameOverScreen;
+    private BufferedImage frame;
+
+    @Setup
+    public void setUp() {
+        gameManager = new GameManager();
+        gameManager.startGame();
+        gameManager.update();
+        mainMenu = new MainMenu(gameManager);
+        gameOverScreen = new GameOverScreen(gameManager);
+        gameOverScreen.show(123, 2, true);
+        frame = new BufferedImage(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+    }
+
+    @Benchmark
+    public void gameManagerRender(Blackhole blackhole) {
+        Graphics2D g2d = frame.createGraphics();
+        try {
+            gameManager.render(g2d);
+        } finally {
+            g2d.dispose();
+        }
+        blackhole.consume(frame.getRGB(0, 0));
+    }
+
+    @Benchmark
+    public void mainMenuRender(Blackhole blackhole) {
+        Graphics2D g2d = frame.createGraphics();
+        try {
+            mainMenu.render(g2d);
+        } finally {
+            g2d.dispose();
+        }
+        blackhole.consume(frame.getRGB(0, 0));
+    }
+
+    @Benchmark
+    public void gameOverScreenRender(Blackhole blackhole) {
+        Graphics2D g2d = frame.createGraphics();
+        try {
+            gameOverScreen.render(g2d);
+        } finally {
+            g2d.dispose();
+        }
+        blackhole.consume(frame.getRGB(0, 0));
+    }
+}
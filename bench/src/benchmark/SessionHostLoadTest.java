@@ -0,0 +1,94 @@
+package benchmark;
+
+import core.ObstacleBuffer;
+import core.SessionHost;
+import core.Simulation;
+import utils.Constants;
+import utils.LatencyHistogram;
+
+/**
+ * Hosts many bot-played sessions on one {@link SessionHost} and prints, every
+ * second, the ticks stepped and each worker's tick lag (how late ticks
+ * started). Bots flap below the middle of the next gap and restart when they
+ * crash. Halfway through, a tenth of the sessions is removed and replaced to
+ * exercise runtime changes.
+ *
+ * Usage: SessionHostLoadTest
+ * Tune with -Dhost.sessions, -Dhost.seconds and -Dhost.workers.
+ */
+public class SessionHostLoadTest {
+    private static final int SESSIONS = Integer.getInteger("host.sessions", 10_000);
+    private static final int SECONDS = Integer.getInteger("host.seconds", 10);
+    private static final int WORKERS = Integer.getInteger("host.workers", Runtime.getRuntime().availableProcessors());
+
+    public static void main(String[] args) throws InterruptedException {
+        SessionHost host = new SessionHost(WORKERS);
+        SessionHost.Session[] sessions = new SessionHost.Session[SESSIONS];
+        for (int i = 0; i < SESSIONS; i++) {
+            sessions[i] = host.add(newSimulation(i), SessionHostLoadTest::autopilot);
+        }
+        host.start();
+
+        long expectedPerSecond = (long) SESSIONS * Constants.TICK_RATE;
+        long lastTicks = 0;
+        for (int second = 1; second <= SECONDS; second++) {
+            Thread.sleep(1000);
+            if (second == SECONDS / 2) {
+                for (int i = 0; i < SESSIONS; i += 10) {
+                    host.remove(sessions[i]);
+                    sessions[i] = host.add(newSimulation(i), SessionHostLoadTest::autopilot);
+                }
+            }
+
+            long ticks = 0;
+            StringBuilder lag = new StringBuilder();
+            for (int w = 0; w < host.getWorkerCount(); w++) {
+                ticks += host.getTicks(w);
+                LatencyHistogram.Summary summary = host.getTickLag(w);
+                lag.append(String.format(" [p50 %.2f p99 %.2f max %.2f ms]",
+                        summary.getP50() / 1e6, summary.getP99() / 1e6, summary.getMax() / 1e6));
+            }
+            System.out.printf("%d sessions: %d ticks/s (%.1f%% of %d), lag%s%n", host.getSessionCount(),
+                    ticks - lastTicks, 100.0 * (ticks - lastTicks) / expectedPerSecond, expectedPerSecond, lag);
+            lastTicks = ticks;
+        }
+        host.stop();
+
+        long worst = 0;
+        long skipped = 0;
+        for (SessionHost.Session session : sessions) {
+            worst = Math.max(worst, session.getMaxLagNanos());
+            skipped += session.getSkippedTicks();
+        }
+        long failures = 0;
+        for (int w = 0; w < host.getWorkerCount(); w++) {
+            failures += host.getFailures(w);
+        }
+        System.out.printf("worst session lag %.2f ms, %d ticks skipped, %d sessions failed%n",
+                worst / 1e6, skipped, failures);
+    }
+
+    private static Simulation newSimulation(int index) {
+        Simulation simulation = new Simulation();
+        simulation.reset(index);
+        simulation.start();
+        return simulation;
+    }
+
+    private static boolean autopilot(Simulation simulation) {
+        if (simulation.getCurrentState() == Constants.GameState.GAME_OVER) {
+            simulation.reset();
+            simulation.start();
+            return false;
+        }
+        ObstacleBuffer obstacles = simulation.getObstacles();
+        int target = Constants.WINDOW_HEIGHT / 2;
+        for (int i = 0; i + 1 < obstacles.size(); i++) {
+            if (obstacles.getY(i) == 0 && obstacles.getX(i) + obstacles.getWidth(i) >= simulation.getBirdX()) {
+                target = obstacles.getHeight(i) + (obstacles.getY(i + 1) - obstacles.getHeight(i)) / 2;
+                break;
+            }
+        }
+        return simulation.getBirdY() + simulation.getBirdHeight() / 2 > target && simulation.getBirdYMotion() >= 0;
+    }
+}
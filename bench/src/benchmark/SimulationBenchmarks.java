@@ -0,0 +1,128 @@
+package benchmark;
+
+import core.BirdWorld;
+import core.GameManager;
+import core.Simulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import utils.Constants;
+
+import java.awt.Canvas;
+import java.awt.event.KeyEvent;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of one game tick, headless and through the interactive client
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SimulationBenchmarks {
+    // Flap whenever the bird sinks below this line, good enough to survive a while
+    private static final int FLAP_LINE = Constants.WINDOW_HEIGHT / 2;
+
+    @State(Scope.Thread)
+    public static class SimulationState {
+        Simulation simulation;
+
+        @Setup
+        public void setUp() {
+            simulation = new Simulation();
+            simulation.start();
+        }
+    }
+
+    /**
+     * A crowd sharing one world
+     */
+    @State(Scope.Thread)
+    public static class CrowdState {
+        @Param({"10000"})
+        int birds;
+
+        BirdWorld world;
+        boolean[] flap;
+        long seed;
+
+        @Setup
+        public void setUp() {
+            world = new BirdWorld(birds);
+            world.reset(seed++, birds);
+            flap = new boolean[birds];
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ClientState {
+        GameManager gameManager;
+        KeyEvent spacePressed;
+        KeyEvent spaceReleased;
+
+        @Setup
+        public void setUp() {
+            gameManager = new GameManager();
+            gameManager.startGame();
+            Canvas source = new Canvas();
+            spacePressed = new KeyEvent(source, KeyEvent.KEY_PRESSED, 0, 0, KeyEvent.VK_SPACE, ' ');
+            spaceReleased = new KeyEvent(source, KeyEvent.KEY_RELEASED, 0, 0, KeyEvent.VK_SPACE, ' ');
+        }
+    }
+
+    @Benchmark
+    public void simulationStep(SimulationState state, Blackhole blackhole) {
+        Simulation simulation = state.simulation;
+        if (simulation.getCurrentState() == Constants.GameState.GAME_OVER) {
+            simulation.reset();
+            simulation.start();
+        }
+        simulation.step(simulation.getBirdY() > FLAP_LINE && simulation.getBirdYMotion() >= 0);
+        blackhole.consume(simulation.getTick());
+    }
+
+    /**
+     * One tick of the whole crowd, including deciding who flaps
+     */
+    @Benchmark
+    public void birdWorldStep(CrowdState state, Blackhole blackhole) {
+        BirdWorld world = state.world;
+        if (world.getAliveCount() == 0) {
+            world.reset(state.seed++, state.birds);
+        }
+        for (int i = 0; i < world.getAliveCount(); i++) {
+            int bird = world.getAliveBird(i);
+            // Spread the flap line so the crowd thins out gradually
+            state.flap[bird] = world.getBirdY(bird) > FLAP_LINE - 100 + bird % 200
+                    && world.getBirdYMotion(bird) >= 0;
+        }
+        world.step(state.flap);
+        blackhole.consume(world.getAliveCount());
+    }
+
+    @Benchmark
+    public void gameManagerUpdate(ClientState state, Blackhole blackhole) {
+        GameManager gameManager = state.gameManager;
+        Simulation simulation = gameManager.getSimulation();
+        if (simulation.getCurrentState() == Constants.GameState.GAME_OVER) {
+            gameManager.resetGame();
+            gameManager.startGame();
+        }
+        if (simulation.getBirdY() > FLAP_LINE && simulation.getBirdYMotion() >= 0) {
+            gameManager.keyPressed(state.spacePressed);
+            gameManager.keyReleased(state.spaceReleased);
+        }
+        gameManager.update();
+        blackhole.consume(simulation.getTick());
+    }
+}
@@ -0,0 +1,27 @@
+package core;
+
+import utils.Constants;
+
+import java.util.Random;
+
+/**
+ * Builds obstacle fields for benchmarks; lives in core for package access
+ */
+public class ObstacleFixtures {
+    /**
+     * Pipe pairs spread evenly across the screen, in x order like real spawns
+     */
+    public static ObstacleBuffer pipes(int pairs, long seed) {
+        Random random = new Random(seed);
+        ObstacleBuffer buffer = new ObstacleBuffer(pairs * 2);
+        int spacing = Math.max(1, Constants.WINDOW_WIDTH / pairs);
+        for (int i = 0; i < pairs; i++) {
+            int x = i * spacing;
+            int gapY = 100 + random.nextInt(Constants.WINDOW_HEIGHT - 300);
+            buffer.add(x, 0, Constants.OBSTACLE_WIDTH, gapY, 1);
+            buffer.add(x, gapY + Constants.OBSTACLE_GAP, Constants.OBSTACLE_WIDTH,
+                    Constants.WINDOW_HEIGHT - (gapY + Constants.OBSTACLE_GAP), 1);
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,99 @@
+package ai;
+
+import java.util.Random;
+
+/**
+ * Tiny feed-forward controller: {@link Sensors#INPUTS} inputs, one tanh
+ * hidden layer and a single output that says whether to flap.
+ *
+ * All weights sit in one flat array (hidden rows with their bias first, then
+ * the output row with its bias), which keeps evaluation allocation-free and
+ * makes crossover and mutation plain array operations.
+ */
+public class NeuralNetwork {
+    private final int hiddenSize;
+    private final float[] weights;
+    private final float[] hidden;
+
+    public NeuralNetwork(int hiddenSize, float[] weights) {
+        if (weights.length != weightCount(hiddenSize)) {
+            throw new IllegalArgumentException("Expected " + weightCount(hiddenSize)
+                    + " weights, got " + weights.length);
+        }
+        this.hiddenSize = hiddenSize;
+        this.weights = weights.clone();
+        this.hidden = new float[hiddenSize];
+    }
+
+    public static NeuralNetwork random(int hiddenSize, Random random) {
+        float[] weights = new float[weightCount(hiddenSize)];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = (float) random.nextGaussian();
+        }
+        return new NeuralNetwork(hiddenSize, weights);
+    }
+
+    public static int weightCount(int hiddenSize) {
+        return hiddenSize * (Sensors.INPUTS + 1) + hiddenSize + 1;
+    }
+
+    /**
+     * Network output in (-1, 1). Not thread-safe: each thread needs its own network.
+     */
+    public float evaluate(float[] inputs) {
+        int w = 0;
+        for (int h = 0; h < hiddenSize; h++) {
+            float sum = weights[w++];
+            for (int i = 0; i < Sensors.INPUTS; i++) {
+                sum += weights[w++] * inputs[i];
+            }
+            hidden[h] = (float) Math.tanh(sum);
+        }
+
+        float output = weights[w++];
+        for (int h = 0; h < hiddenSize; h++) {
+            output += weights[w++] * hidden[h];
+        }
+        return (float) Math.tanh(output);
+    }
+
+    public boolean shouldFlap(float[] inputs) {
+        return evaluate(inputs) > 0;
+    }
+
+    /**
+     * Child taking each weight from either parent with equal chance
+     */
+    public NeuralNetwork crossover(NeuralNetwork other, Random random) {
+        float[] child = new float[weights.length];
+        for (int i = 0; i < child.length; i++) {
+            child[i] = random.nextBoolean() ? weights[i] : other.weights[i];
+        }
+        return new NeuralNetwork(hiddenSize, child);
+    }
+
+    /**
+     * Copy with a fraction of the weights nudged by gaussian noise
+     *
+     * @param rate     chance of each weight being changed
+     * @param strength standard deviation of the change
+     */
+    public NeuralNetwork mutate(Random random, float rate, float strength) {
+        float[] child = weights.clone();
+        for (int i = 0; i < child.length; i++) {
+            if (random.nextFloat() < rate) {
+                child[i] += (float) random.nextGaussian() * strength;
+            }
+        }
+        return new NeuralNetwork(hiddenSize, child);
+    }
+
+    // Getters
+    public int getHiddenSize() {
+        return hiddenSize;
+    }
+
+    public float[] getWeights() {
+        return weights.clone();
+    }
+}
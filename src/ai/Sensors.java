@@ -0,0 +1,53 @@
+package ai;
+
+import core.BirdWorld;
+import core.ObstacleBuffer;
+import core.Simulation;
+import entity.Bird;
+import utils.Constants;
+
+/**
+ * What a controller sees of the world, normalised to roughly [-1, 1]
+ */
+public class Sensors {
+    public static final int INPUTS = 4;
+
+    /**
+     * Fill inputs with bird height, vertical speed, horizontal distance to the
+     * next gap and how far the gap's centre is above or below the bird
+     */
+    public static void read(Simulation simulation, float[] inputs) {
+        read(simulation.getObstacles(), simulation.getBirdX(), simulation.getBirdY(),
+                simulation.getBirdHeight(), simulation.getBirdYMotion(), inputs);
+    }
+
+    /**
+     * Same as {@link #read(Simulation, float[])} for one bird of a shared world
+     */
+    public static void read(BirdWorld world, int bird, float[] inputs) {
+        read(world.getObstacles(), world.getBirdX(), world.getBirdY(bird),
+                world.getBirdHeight(), world.getBirdYMotion(bird), inputs);
+    }
+
+    private static void read(ObstacleBuffer obstacles, int birdX, int birdY, int birdHeight, int yMotion,
+                             float[] inputs) {
+        int birdCenter = birdY + birdHeight / 2;
+
+        // Pipes are added top then bottom, oldest first; the first top pipe the
+        // bird has not fully passed is the next gap
+        int distance = Constants.WINDOW_WIDTH;
+        int gapCenter = Constants.WINDOW_HEIGHT / 2;
+        for (int i = 0; i + 1 < obstacles.size(); i++) {
+            if (obstacles.getY(i) == 0 && obstacles.getX(i) + obstacles.getWidth(i) > birdX) {
+                distance = Math.max(0, obstacles.getX(i) - birdX);
+                gapCenter = (obstacles.getHeight(i) + obstacles.getY(i + 1)) / 2;
+                break;
+            }
+        }
+
+        inputs[0] = (float) birdY / Constants.WINDOW_HEIGHT;
+        inputs[1] = (float) yMotion / Bird.TERMINAL_VELOCITY;
+        inputs[2] = (float) distance / Constants.WINDOW_WIDTH;
+        inputs[3] = (float) (gapCenter - birdCenter) / Constants.WINDOW_HEIGHT;
+    }
+}
@@ -0,0 +1,270 @@
+package ai;
+
+import core.BirdWorld;
+import utils.Constants;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evolves autopilot controllers on the headless simulation.
+ *
+ * Each generation every agent plays one run against the same seeded obstacle
+ * layout, so fitness is comparable and independent of which thread ran it.
+ * The population is split across a fork-join pool; each task flies its slice
+ * of agents together in one {@link BirdWorld}, stepped as fast as the CPU
+ * allows with no frame pacing.
+ *
+ * Usage: Trainer
+ * Tune with -Dtrainer.population, -Dtrainer.generations, -Dtrainer.hidden,
+ * -Dtrainer.maxTicks, -Dtrainer.seed and -Dtrainer.threads.
+ */
+public class Trainer {
+    // Agents per fork-join leaf task, flown together in one world
+    private static final int AGENTS_PER_WORLD = 256;
+    // Fitness is ticks survived plus this much per pipe passed
+    private static final int SCORE_WEIGHT = 1000;
+
+    private static final float ELITE_FRACTION = 0.05f;
+    private static final float PARENT_FRACTION = 0.2f;
+    private static final float MUTATION_RATE = 0.1f;
+    private static final float MUTATION_STRENGTH = 0.5f;
+
+    private final int hiddenSize;
+    private final int maxTicks;
+    private final ForkJoinPool pool;
+    private final Random random;
+
+    private NeuralNetwork[] population;
+    private final long[] fitness;
+    private final int[] scores;
+    private final long[] ticks;
+    private int generation;
+    private NeuralNetwork best;
+
+    /**
+     * @param maxTicks longest run an agent gets, so perfect players still finish
+     */
+    public Trainer(int populationSize, int hiddenSize, int maxTicks, long seed, ForkJoinPool pool) {
+        if (populationSize < 2) {
+            throw new IllegalArgumentException("Population needs at least 2 agents: " + populationSize);
+        }
+        this.hiddenSize = hiddenSize;
+        this.maxTicks = maxTicks;
+        this.pool = pool;
+        this.random = new Random(seed);
+
+        this.population = new NeuralNetwork[populationSize];
+        for (int i = 0; i < populationSize; i++) {
+            population[i] = NeuralNetwork.random(hiddenSize, random);
+        }
+        this.fitness = new long[populationSize];
+        this.scores = new int[populationSize];
+        this.ticks = new long[populationSize];
+    }
+
+    /**
+     * Evaluate the current population, then breed the next one from it
+     */
+    public Result evolve() {
+        long obstacleSeed = random.nextLong();
+        long start = System.nanoTime();
+        pool.invoke(new Evaluation(obstacleSeed, 0, population.length));
+        long elapsed = System.nanoTime() - start;
+
+        Result result = summarize(elapsed);
+        breed();
+        generation++;
+        return result;
+    }
+
+    private Result summarize(long elapsedNanos) {
+        int bestIndex = 0;
+        long totalFitness = 0;
+        long totalTicks = 0;
+        for (int i = 0; i < population.length; i++) {
+            if (fitness[i] > fitness[bestIndex]) {
+                bestIndex = i;
+            }
+            totalFitness += fitness[i];
+            totalTicks += ticks[i];
+        }
+        best = population[bestIndex];
+        return new Result(generation, fitness[bestIndex], scores[bestIndex],
+                (double) totalFitness / population.length, totalTicks, elapsedNanos);
+    }
+
+    // Elites survive unchanged, the rest are mutated children of the fittest agents
+    private void breed() {
+        Integer[] order = new Integer[population.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong((Integer i) -> fitness[i]).reversed());
+
+        int elites = Math.max(1, (int) (population.length * ELITE_FRACTION));
+        int parents = Math.max(2, (int) (population.length * PARENT_FRACTION));
+
+        NeuralNetwork[] next = new NeuralNetwork[population.length];
+        for (int i = 0; i < elites; i++) {
+            next[i] = population[order[i]];
+        }
+        for (int i = elites; i < next.length; i++) {
+            NeuralNetwork mother = population[order[random.nextInt(parents)]];
+            NeuralNetwork father = population[order[random.nextInt(parents)]];
+            next[i] = mother.crossover(father, random).mutate(random, MUTATION_RATE, MUTATION_STRENGTH);
+        }
+        population = next;
+    }
+
+    /**
+     * Fly agents [from, to) together until all crash or maxTicks pass
+     */
+    private void play(int from, int to, long obstacleSeed) {
+        int count = to - from;
+        BirdWorld world = new BirdWorld(count);
+        world.reset(obstacleSeed, count);
+        boolean[] flap = new boolean[count];
+        float[] inputs = new float[Sensors.INPUTS];
+
+        while (world.getAliveCount() > 0 && world.getTick() < maxTicks) {
+            for (int i = 0; i < world.getAliveCount(); i++) {
+                int bird = world.getAliveBird(i);
+                Sensors.read(world, bird, inputs);
+                flap[bird] = population[from + bird].shouldFlap(inputs);
+            }
+            world.step(flap);
+        }
+
+        for (int bird = 0; bird < count; bird++) {
+            int agent = from + bird;
+            ticks[agent] = world.getSurvivedTicks(bird);
+            scores[agent] = world.getScore(bird);
+            fitness[agent] = ticks[agent] + (long) SCORE_WEIGHT * scores[agent];
+        }
+    }
+
+    // Splits the population in halves until a slice fits in one world
+    private class Evaluation extends RecursiveAction {
+        private final long obstacleSeed;
+        private final int from;
+        private final int to;
+
+        Evaluation(long obstacleSeed, int from, int to) {
+            this.obstacleSeed = obstacleSeed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= AGENTS_PER_WORLD) {
+                play(from, to, obstacleSeed);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Evaluation(obstacleSeed, from, middle), new Evaluation(obstacleSeed, middle, to));
+        }
+    }
+
+    // Getters
+    public int getGeneration() {
+        return generation;
+    }
+
+    public int getPopulationSize() {
+        return population.length;
+    }
+
+    public int getHiddenSize() {
+        return hiddenSize;
+    }
+
+    /**
+     * Fittest controller of the last evaluated generation, or null before the first
+     */
+    public NeuralNetwork getBest() {
+        return best;
+    }
+
+    /**
+     * Statistics of one evaluated generation
+     */
+    public static class Result {
+        private final int generation;
+        private final long bestFitness;
+        private final int bestScore;
+        private final double meanFitness;
+        private final long agentTicks;
+        private final long elapsedNanos;
+
+        Result(int generation, long bestFitness, int bestScore, double meanFitness,
+               long agentTicks, long elapsedNanos) {
+            this.generation = generation;
+            this.bestFitness = bestFitness;
+            this.bestScore = bestScore;
+            this.meanFitness = meanFitness;
+            this.agentTicks = agentTicks;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getGeneration() {
+            return generation;
+        }
+
+        public long getBestFitness() {
+            return bestFitness;
+        }
+
+        public int getBestScore() {
+            return bestScore;
+        }
+
+        public double getMeanFitness() {
+            return meanFitness;
+        }
+
+        /**
+         * Simulation steps taken by all agents together
+         */
+        public long getAgentTicks() {
+            return agentTicks;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getAgentTicksPerSecond() {
+            return elapsedNanos == 0 ? 0 : agentTicks * 1e9 / elapsedNanos;
+        }
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        int populationSize = Integer.getInteger("trainer.population", 2000);
+        int generations = Integer.getInteger("trainer.generations", 50);
+        int hiddenSize = Integer.getInteger("trainer.hidden", 6);
+        int maxTicks = Integer.getInteger("trainer.maxTicks", 60 * Constants.TICK_RATE);
+        long seed = Long.getLong("trainer.seed", 1L);
+        int threads = Integer.getInteger("trainer.threads", Runtime.getRuntime().availableProcessors());
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            Trainer trainer = new Trainer(populationSize, hiddenSize, maxTicks, seed, pool);
+            System.out.printf("Training %d agents on %d threads%n", populationSize, threads);
+            System.out.printf("%6s %12s %10s %14s %16s%n", "gen", "best", "score", "mean", "agent-ticks/s");
+            for (int i = 0; i < generations; i++) {
+                Result result = trainer.evolve();
+                System.out.printf("%6d %12d %10d %14.1f %16.0f%n", result.getGeneration(), result.getBestFitness(),
+                        result.getBestScore(), result.getMeanFitness(), result.getAgentTicksPerSecond());
+            }
+            System.out.println("Best weights: " + Arrays.toString(trainer.getBest().getWeights()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
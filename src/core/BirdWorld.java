@@ -0,0 +1,358 @@
+package core;
+
+import entity.Bird;
+import utils.CollisionMask;
+import utils.Constants;
+
+/**
+ * Many birds flying through one shared obstacle field.
+ *
+ * Bird state lives in primitive columns instead of {@link Bird} objects, and
+ * gravity, movement and collision run as tight loops over all living birds
+ * at once. Living birds are kept packed at the front of the columns (a bird
+ * that dies is swapped behind them), so every loop runs over a dense range
+ * with no per-bird liveness checks. All birds share one x position, which
+ * means the obstacles near them are found once per tick, not once per bird.
+ *
+ * Birds are addressed by id, 0 to getBirdCount() - 1. Physics match
+ * {@link Bird} and the tick order matches {@link Simulation}, but the world
+ * stays on the level it started on instead of running level transitions.
+ */
+public class BirdWorld {
+    private final int capacity;
+    private final LevelManager levelManager;
+    private final ObstacleBuffer obstacles;
+    private final ObstacleStream obstacleStream;
+
+    // Per-slot bird state; slots [0, aliveCount) are the living birds
+    private final int[] y;
+    private final int[] prevY;
+    private final int[] yMotion;
+    private final int[] ids;
+    private final boolean[] hit;
+
+    // Per-id bookkeeping
+    private final int[] slots;
+    private final long[] survivedTicks;
+    private final int[] scores;
+
+    private int birdCount;
+    private int aliveCount;
+
+    // Shared by every bird
+    private final int birdX;
+    private final int birdWidth;
+    private final int birdHeight;
+    private CollisionMask birdMask;
+    private CollisionMask obstacleMask;
+
+    private int gameSpeed;
+    private int obstacleSpawnDelay;
+    private long tick;
+    private long lastObstacleSpawn;
+    private int passed;
+    private long spawnedPairs;
+    private long seed;
+
+    public BirdWorld(int capacity) {
+        this(new LevelManager(), capacity);
+    }
+
+    public BirdWorld(LevelManager levelManager, int capacity) {
+        this(levelManager, capacity, new SeededObstacleGenerator());
+    }
+
+    /**
+     * @param capacity most birds a run can have
+     */
+    public BirdWorld(LevelManager levelManager, int capacity, ObstacleGenerator obstacleGenerator) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.levelManager = levelManager;
+        this.obstacles = new ObstacleBuffer();
+        this.obstacleStream = new ObstacleStream(obstacleGenerator, levelManager, Constants.OBSTACLE_LOOKAHEAD);
+
+        this.y = new int[capacity];
+        this.prevY = new int[capacity];
+        this.yMotion = new int[capacity];
+        this.ids = new int[capacity];
+        this.hit = new boolean[capacity];
+        this.slots = new int[capacity];
+        this.survivedTicks = new long[capacity];
+        this.scores = new int[capacity];
+
+        this.birdX = Constants.BIRD_START_X;
+        this.birdWidth = Constants.BIRD_WIDTH;
+        this.birdHeight = Constants.BIRD_HEIGHT;
+    }
+
+    /**
+     * Start a run of birdCount birds at the start position on the current
+     * level, with an obstacle layout fully determined by seed
+     */
+    public void reset(long seed, int birdCount) {
+        if (birdCount < 0 || birdCount > capacity) {
+            throw new IllegalArgumentException("Bird count " + birdCount + " outside 0-" + capacity);
+        }
+        this.seed = seed;
+        this.birdCount = birdCount;
+        this.aliveCount = birdCount;
+        for (int i = 0; i < birdCount; i++) {
+            y[i] = Constants.BIRD_START_Y;
+            prevY[i] = Constants.BIRD_START_Y;
+            yMotion[i] = 0;
+            ids[i] = i;
+            slots[i] = i;
+            survivedTicks[i] = 0;
+            scores[i] = 0;
+        }
+
+        int level = levelManager.getCurrentLevel();
+        gameSpeed = levelManager.getGameSpeed(level);
+        obstacleSpawnDelay = Math.max(1, levelManager.getSpawnIntervalMs(level) * Constants.TICK_RATE / 1000);
+        tick = 0;
+        lastObstacleSpawn = 0;
+        passed = 0;
+        spawnedPairs = 0;
+
+        obstacleStream.reset(seed);
+        obstacles.clear();
+        for (int i = 0; i < Constants.OBSTACLE_COUNT; i++) {
+            spawnObstacle();
+        }
+    }
+
+    /**
+     * Advance every living bird by one tick. Does nothing once all are dead.
+     *
+     * @param flap indexed by bird id, whether that bird flaps this tick
+     */
+    public void step(boolean[] flap) {
+        if (aliveCount == 0) return;
+        tick++;
+
+        applyFlaps(flap);
+        applyGravity();
+
+        obstacles.move(gameSpeed);
+        passed += obstacles.cull();
+        if (tick - lastObstacleSpawn >= obstacleSpawnDelay) {
+            spawnObstacle();
+        }
+
+        checkCollisions();
+        removeDead();
+    }
+
+    private void applyFlaps(boolean[] flap) {
+        for (int s = 0; s < aliveCount; s++) {
+            if (flap[ids[s]]) {
+                yMotion[s] = Math.min(yMotion[s], 0) - Bird.JUMP_STRENGTH;
+            }
+        }
+    }
+
+    // Same as Bird.fall(), written without branches so the JIT can vectorize it
+    private void applyGravity() {
+        for (int s = 0; s < aliveCount; s++) {
+            int motion = yMotion[s];
+            motion += motion < Bird.TERMINAL_VELOCITY ? Bird.GRAVITY : 0;
+            yMotion[s] = motion;
+            prevY[s] = y[s];
+            y[s] += motion;
+        }
+    }
+
+    private void checkCollisions() {
+        int bottom = Constants.WINDOW_HEIGHT - birdHeight;
+        for (int s = 0; s < aliveCount; s++) {
+            hit[s] = y[s] <= 0 || y[s] >= bottom;
+        }
+
+        // Birds share an x-span, so only the few obstacles overlapping it matter
+        int right = birdX + birdWidth;
+        for (int i = obstacles.firstReaching(birdX); i < obstacles.size(); i++) {
+            int ox = obstacles.getX(i);
+            if (ox >= right) break;
+            int ow = obstacles.getWidth(i);
+            int oy = obstacles.getY(i);
+            int oh = obstacles.getHeight(i);
+            if (ow <= 0 || oh <= 0 || ox + ow <= birdX) continue;
+
+            int top = oy - birdHeight;
+            int end = oy + oh;
+            if (birdMask == null) {
+                for (int s = 0; s < aliveCount; s++) {
+                    hit[s] |= y[s] > top && y[s] < end;
+                }
+            } else {
+                for (int s = 0; s < aliveCount; s++) {
+                    if (!hit[s] && y[s] > top && y[s] < end) {
+                        hit[s] = CollisionMask.overlaps(birdMask, birdX, y[s], obstacleMask, ox, oy, ow, oh);
+                    }
+                }
+            }
+        }
+    }
+
+    // Swap dead birds behind the living ones, keeping the living range dense
+    private void removeDead() {
+        long runTicks = tick;
+        int s = 0;
+        while (s < aliveCount) {
+            if (!hit[s]) {
+                s++;
+                continue;
+            }
+            int id = ids[s];
+            survivedTicks[id] = runTicks;
+            scores[id] = passed;
+
+            int last = --aliveCount;
+            swap(s, last);
+        }
+    }
+
+    private void swap(int a, int b) {
+        if (a == b) return;
+        int t;
+        t = y[a]; y[a] = y[b]; y[b] = t;
+        t = prevY[a]; prevY[a] = prevY[b]; prevY[b] = t;
+        t = yMotion[a]; yMotion[a] = yMotion[b]; yMotion[b] = t;
+        boolean h = hit[a]; hit[a] = hit[b]; hit[b] = h;
+        t = ids[a]; ids[a] = ids[b]; ids[b] = t;
+        slots[ids[a]] = a;
+        slots[ids[b]] = b;
+    }
+
+    private void spawnObstacle() {
+        int level = levelManager.getCurrentLevel();
+        long pair = obstacleStream.next();
+        int gapY = ObstacleStream.gapY(pair);
+        int gapHeight = ObstacleStream.gapHeight(pair);
+
+        int x = Constants.WINDOW_WIDTH;
+        if (obstacles.size() > 0) {
+            x = Math.max(x, obstacles.getX(obstacles.size() - 1) + gameSpeed * obstacleSpawnDelay);
+        }
+
+        obstacles.add(x, 0, Constants.OBSTACLE_WIDTH, gapY, level);
+        obstacles.add(x, gapY + gapHeight, Constants.OBSTACLE_WIDTH,
+                Constants.WINDOW_HEIGHT - (gapY + gapHeight), level);
+
+        lastObstacleSpawn = tick;
+        spawnedPairs++;
+    }
+
+    // Getters
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getBirdCount() {
+        return birdCount;
+    }
+
+    public int getAliveCount() {
+        return aliveCount;
+    }
+
+    /**
+     * Id of the living bird at position index, 0 &lt;= index &lt; getAliveCount()
+     */
+    public int getAliveBird(int index) {
+        return ids[index];
+    }
+
+    public boolean isAlive(int bird) {
+        return slots[bird] < aliveCount;
+    }
+
+    public int getBirdX() {
+        return birdX;
+    }
+
+    public int getBirdY(int bird) {
+        return y[slots[bird]];
+    }
+
+    /**
+     * Bird y before the last step, for render interpolation
+     */
+    public int getBirdPrevY(int bird) {
+        return prevY[slots[bird]];
+    }
+
+    public int getBirdYMotion(int bird) {
+        return yMotion[slots[bird]];
+    }
+
+    public int getBirdWidth() {
+        return birdWidth;
+    }
+
+    public int getBirdHeight() {
+        return birdHeight;
+    }
+
+    /**
+     * Ticks the bird lived, or the ticks so far while it is still alive
+     */
+    public long getSurvivedTicks(int bird) {
+        return isAlive(bird) ? tick : survivedTicks[bird];
+    }
+
+    /**
+     * Score the bird died with, or the current score while it is still alive
+     */
+    public int getScore(int bird) {
+        return isAlive(bird) ? passed : scores[bird];
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getGameSpeed() {
+        return gameSpeed;
+    }
+
+    /**
+     * Pipe pairs spawned since reset. Each pair is two obstacles, top then
+     * bottom, and the newest pairs are at the end of getObstacles().
+     */
+    public long getSpawnedPairs() {
+        return spawnedPairs;
+    }
+
+    /**
+     * Shared obstacles, oldest first (read-only outside the world)
+     */
+    public ObstacleBuffer getObstacles() {
+        return obstacles;
+    }
+
+    public LevelManager getLevelManager() {
+        return levelManager;
+    }
+
+    // Setters
+    /**
+     * Enable pixel-perfect collision. A null bird mask goes back to rectangle
+     * tests; a null obstacle mask treats pipes as solid.
+     */
+    public void setCollisionMasks(CollisionMask birdMask, CollisionMask obstacleMask) {
+        if (birdMask != null && (birdMask.getWidth() != birdWidth || birdMask.getHeight() != birdHeight)) {
+            throw new IllegalArgumentException("Bird mask is " + birdMask.getWidth() + "x" + birdMask.getHeight()
+                    + ", bird is " + birdWidth + "x" + birdHeight);
+        }
+        this.birdMask = birdMask;
+        this.obstacleMask = obstacleMask;
+    }
+}
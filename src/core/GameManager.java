@@ -1,273 +1,437 @@
 package core;
 
-import entity.Bird;
 import entity.Background;
-import entity.Obstacle;
+import net.Leaderboard;
+import net.LeaderboardClient;
+import ui.BitmapFont;
+import utils.AssetBatch;
 import utils.Constants;
 import utils.AssetsLoader;
+import utils.Sprite;
+import utils.SpriteRegistry;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-
+import java.time.Duration;
+
+/**
+ * Interactive client of the {@link Simulation}: turns key presses into flaps
+ * and state changes, and draws the current world with AWT.
+ *
+ * The game thread steps the simulation and publishes a {@link WorldSnapshot}
+ * after every update; rendering only ever reads the latest published
+ * snapshot, never the live simulation. Input goes the other way through an
+ * {@link InputQueue}: listeners on the EDT only queue events, and the game
+ * thread applies them at the start of the tick they happened in, so nothing
+ * changes the simulation in the middle of a step.
+ */
 public class GameManager implements KeyListener {
-    private Constants.GameState currentState;
-    private Bird bird;
-    private Background background;
-    private List<Obstacle> obstacles;
-    private LevelManager levelManager;
-
-    private int score;
-    private int gameSpeed;
-    private boolean gameRunning;
+    private Simulation simulation;
+    private Background background; // render thread only
+    private AssetBatch loading;
+
+    // Assets of the level being played stay cached
+    private String pinnedSkin;
+    private String pinnedBackground;
+
+    // Sprites by pack level, resolved once per level by the game thread before the first
+    // snapshot showing the level is published, so render draws without registry lookups
+    private Sprite[] birdSprites;
+    private Sprite[] obstacleSprites;
+    private final TripleBuffer<WorldSnapshot> snapshots =
+            new TripleBuffer<>(new WorldSnapshot(), new WorldSnapshot(), new WorldSnapshot());
+
+    // Game thread only; the EDT talks to it through input
+    private final InputQueue input = new InputQueue(Constants.INPUT_QUEUE_CAPACITY);
     private boolean spacePressed;
+    private boolean flapRequested;
+
+    // Replays
+    private final ReplayRecorder recorder = new ReplayRecorder();
+    private Replay lastReplay;
+    private Replay playback;
+    private int playbackIndex;
+
+    // High scores
+    private HighScoreStore highScores;
+    private volatile boolean newHighScore;
+    private LeaderboardClient leaderboard; // null unless Constants.LEADERBOARD_ENABLED
+    private volatile Leaderboard.Standing lastStanding;
 
-    // Game timing
-    private long lastObstacleSpawn;
-    private final long obstacleSpawnDelay = 2000; // milliseconds
+    private final BitmapFont hudFont = BitmapFont.get(new Font("Arial", Font.BOLD, 24), Color.WHITE);
 
     public GameManager() {
         initialize();
     }
 
     private void initialize() {
-        // Load all game assets
-        AssetsLoader.loadAllAssets();
-
-        // Initialize managers
-        levelManager = new LevelManager();
+        // Initialize simulation
+        LevelManager levelManager = new LevelManager();
+        levelManager.setEndless(Constants.ENDLESS_MODE);
+        simulation = new Simulation(levelManager);
+        birdSprites = new Sprite[levelManager.getMaxLevel() + 1];
+        obstacleSprites = new Sprite[levelManager.getMaxLevel() + 1];
+        simulation.setState(Constants.GameState.LOADING);
+        highScores = HighScoreStore.getDefault();
+        if (Constants.LEADERBOARD_ENABLED) {
+            leaderboard = new LeaderboardClient(Constants.LEADERBOARD_URL,
+                    Duration.ofMillis(Constants.LEADERBOARD_TIMEOUT_MS));
+        }
 
-        // Initialize game state
-        currentState = Constants.GameState.MAIN_MENU;
-        obstacles = new ArrayList<>();
+        // Only the menus and the first level are needed before the first frame
+        loading = AssetsLoader.loadMenuAssets().addAll(loadLevel(simulation.getCurrentLevel()));
+        background = new Background(levelManager.getBackgroundKey(simulation.getCurrentLevel()));
 
         resetGame();
+        publishSnapshot();
     }
 
-    public void resetGame() {
-        // Reset bird
-        bird = new Bird(
-                Constants.BIRD_START_X,
-                Constants.BIRD_START_Y,
-                Constants.BIRD_WIDTH,
-                Constants.BIRD_HEIGHT,
-                levelManager.getCurrentLevel()
-        );
-
-        // Reset background
-        background = new Background(levelManager.getCurrentLevel());
-
-        // Clear obstacles
-        obstacles.clear();
-
-        // Reset game variables
-        score = 0;
-        gameSpeed = getSpeedForLevel(levelManager.getCurrentLevel());
-        gameRunning = false;
-        spacePressed = false;
-        lastObstacleSpawn = System.currentTimeMillis();
+    /**
+     * Start loading everything a level draws with and collides against
+     */
+    private AssetBatch loadLevel(int level) {
+        LevelManager levelManager = simulation.getLevelManager();
+        String skin = levelManager.getSkinKey(level);
+        return new AssetBatch()
+                .add(AssetsLoader.submit(() -> Constants.PIXEL_PERFECT_COLLISION
+                        ? SpriteRegistry.getBirdMask(skin) : SpriteRegistry.getBirdSprite(skin)))
+                .add(AssetsLoader.submit(() -> Constants.PIXEL_PERFECT_COLLISION
+                        ? SpriteRegistry.getObstacleMask(skin) : SpriteRegistry.getObstacleSprite(skin)))
+                .add(AssetsLoader.loadBackgroundAsync(levelManager.getBackgroundKey(level)));
+    }
 
-        // Spawn initial obstacles
-        spawnInitialObstacles();
+    private void finishLoading() {
+        prepareLevel(simulation.getCurrentLevel());
+        simulation.setState(Constants.GameState.MAIN_MENU);
     }
 
-    public void startGame() {
-        currentState = Constants.GameState.PLAYING;
-        gameRunning = true;
+    public void resetGame() {
+        simulation.reset();
+        prepareRun();
     }
 
-    public void update() {
-        switch (currentState) {
-            case PLAYING:
-                updateGameplay();
-                break;
-            case MAIN_MENU:
-                // Main menu logic handled by UI
-                break;
-            case GAME_OVER:
-                // Game over logic handled by UI
-                break;
-            case LEVEL_TRANSITION:
-                handleLevelTransition();
-                break;
+    private void prepareRun() {
+        // While loading, the level is prepared once its assets are in
+        if (simulation.getCurrentState() != Constants.GameState.LOADING) {
+            prepareLevel(simulation.getCurrentLevel());
         }
+        recorder.start(simulation.getSeed(), simulation.getCurrentLevel());
+
+        spacePressed = false;
+        flapRequested = false;
     }
 
-    private void updateGameplay() {
-        if (!gameRunning) return;
+    /**
+     * Restart with the recording's seed and level and replay its flaps
+     * through the regular key handling
+     *
+     * @throws IllegalArgumentException if the replay was recorded at another
+     *         tick rate or its level does not exist here
+     */
+    public void playReplay(Replay replay) {
+        if (replay.getTickRate() != Constants.TICK_RATE) {
+            throw new IllegalArgumentException("Replay recorded at " + replay.getTickRate()
+                    + " ticks/s, simulation runs at " + Constants.TICK_RATE);
+        }
+        if (!simulation.getLevelManager().restoreLevel(replay.getLevel())) {
+            throw new IllegalArgumentException("Replay level not available: " + replay.getLevel());
+        }
 
-        // Update bird physics
-        bird.fall();
+        simulation.reset(replay.getSeed());
+        simulation.returnToMenu();
+        prepareRun();
 
-        // Update obstacles
-        updateObstacles();
+        playback = replay;
+        playbackIndex = 0;
+        handleKeyPress(KeyEvent.VK_ENTER);
+    }
 
-        // Spawn new obstacles
-        if (shouldSpawnObstacle()) {
-            spawnObstacle();
+    /**
+     * Start playing; if the startup assets are still loading this waits for them
+     */
+    public void startGame() {
+        if (simulation.getCurrentState() == Constants.GameState.LOADING) {
+            loading.join();
+            finishLoading();
         }
+        simulation.start();
+    }
 
-        // Check collisions
-        if (checkCollisions()) {
-            gameOver();
-            return;
-        }
+    public void update() {
+        update(System.nanoTime());
+    }
 
-        // Check level progression
-        if (score >= Constants.SCORE_TO_NEXT_LEVEL * levelManager.getCurrentLevel()) {
-            if (levelManager.canAdvanceLevel()) {
-                currentState = Constants.GameState.LEVEL_TRANSITION;
+    /**
+     * Advance one tick, first applying the input events stamped before tickEnd
+     *
+     * @param tickEnd {@link System#nanoTime()} at which the slice of real time
+     *                this tick stands for ends
+     */
+    public void update(long tickEnd) {
+        applyInput(tickEnd);
+
+        if (simulation.getCurrentState() == Constants.GameState.LOADING) {
+            if (loading.isDone()) {
+                finishLoading();
             }
+            publishSnapshot();
+            return;
         }
-    }
-
-    private void updateObstacles() {
-        Iterator<Obstacle> iterator = obstacles.iterator();
-        while (iterator.hasNext()) {
-            Obstacle obstacle = iterator.next();
-            obstacle.move(gameSpeed);
 
-            // Remove obstacles that are off-screen
-            if (obstacle.getX() + obstacle.getWidth() < 0) {
-                iterator.remove();
-                score++;
-            }
+        if (playback != null) {
+            feedPlayback();
         }
-    }
 
-    private boolean shouldSpawnObstacle() {
-        return System.currentTimeMillis() - lastObstacleSpawn > obstacleSpawnDelay;
-    }
+        boolean flap = flapRequested;
+        flapRequested = false;
 
-    private void spawnObstacle() {
-        int level = levelManager.getCurrentLevel();
-        int gapY = 100 + (int)(Math.random() * (Constants.WINDOW_HEIGHT - 300));
+        Constants.GameState state = simulation.getCurrentState();
+        if (flap && state == Constants.GameState.PLAYING && simulation.isGameRunning()) {
+            recorder.recordFlap(simulation.getRunTick());
+        }
 
-        // Top obstacle
-        Obstacle topObstacle = new Obstacle(
-                Constants.WINDOW_WIDTH,
-                0,
-                Constants.OBSTACLE_WIDTH,
-                gapY,
-                level
-        );
+        int level = simulation.getCurrentLevel();
+        simulation.step(flap);
 
-        // Bottom obstacle
-        Obstacle bottomObstacle = new Obstacle(
-                Constants.WINDOW_WIDTH,
-                gapY + Constants.OBSTACLE_GAP,
-                Constants.OBSTACLE_WIDTH,
-                Constants.WINDOW_HEIGHT - (gapY + Constants.OBSTACLE_GAP),
-                level
-        );
+        // Update sprites for new level
+        if (simulation.getCurrentLevel() != level) {
+            prepareLevel(simulation.getCurrentLevel());
+        }
 
-        obstacles.add(topObstacle);
-        obstacles.add(bottomObstacle);
+        if (state != Constants.GameState.GAME_OVER
+                && simulation.getCurrentState() == Constants.GameState.GAME_OVER) {
+            finishRun();
+        }
 
-        lastObstacleSpawn = System.currentTimeMillis();
+        publishSnapshot();
     }
 
-    private void spawnInitialObstacles() {
-        for (int i = 0; i < Constants.OBSTACLE_COUNT; i++) {
-            lastObstacleSpawn = System.currentTimeMillis() - obstacleSpawnDelay - (i * 1000);
-            spawnObstacle();
+    private void applyInput(long tickEnd) {
+        while (input.isReady(tickEnd)) {
+            int kind = input.getKind();
+            int code = input.getCode();
+            if (kind == InputQueue.KEY_PRESSED && code == KeyEvent.VK_SPACE && flapRequested && !spacePressed) {
+                // Second flap within one tick: it gets the next tick instead of being merged away
+                return;
+            }
+            input.remove();
+
+            switch (kind) {
+                case InputQueue.KEY_PRESSED:
+                    // The player only gets control back by leaving a replay
+                    if (playback != null) {
+                        if (code != KeyEvent.VK_ESCAPE) break;
+                        playback = null;
+                    }
+                    handleKeyPress(code);
+                    break;
+                case InputQueue.KEY_RELEASED:
+                    if (playback == null) {
+                        handleKeyRelease(code);
+                    }
+                    break;
+                case InputQueue.SET_STATE:
+                    simulation.setState(Constants.GameState.values()[code]);
+                    break;
+                case InputQueue.START:
+                    if (simulation.getCurrentState() == Constants.GameState.MAIN_MENU) {
+                        startGame();
+                    }
+                    break;
+                case InputQueue.RESTART:
+                    if (simulation.getCurrentState() == Constants.GameState.GAME_OVER) {
+                        resetGame();
+                        startGame();
+                    }
+                    break;
+            }
         }
     }
 
-    private boolean checkCollisions() {
-        Rectangle birdBounds = bird.getBounds();
+    private void feedPlayback() {
+        if (simulation.getCurrentState() != Constants.GameState.PLAYING) return;
 
-        // Check ground and ceiling collision
-        if (bird.getY() <= 0 || bird.getY() + bird.getHeight() >= Constants.WINDOW_HEIGHT) {
-            return true;
+        long runTick = simulation.getRunTick();
+        while (playbackIndex < playback.getFlapCount() && playback.getFlapTick(playbackIndex) <= runTick) {
+            handleKeyPress(KeyEvent.VK_SPACE);
+            handleKeyRelease(KeyEvent.VK_SPACE);
+            playbackIndex++;
         }
+    }
+
+    private void finishRun() {
+        lastReplay = recorder.finish(simulation.getRunTick(), simulation.getScore());
 
-        // Check obstacle collisions
-        for (Obstacle obstacle : obstacles) {
-            if (birdBounds.intersects(obstacle.getBounds())) {
-                return true;
+        if (playback != null) {
+            if (!playback.matches(lastReplay.getLength(), lastReplay.getFinalScore())) {
+                System.err.println("Replay diverged: recorded " + playback + ", played " + lastReplay);
             }
+            playback = null;
+            newHighScore = false;
+        } else {
+            // Only queues the write, the disk is never waited on here
+            newHighScore = highScores.record(simulation.getCurrentLevel(), simulation.getScore());
+            submitToLeaderboard(simulation.getCurrentLevel(), simulation.getScore());
         }
-
-        return false;
     }
 
-    private void gameOver() {
-        currentState = Constants.GameState.GAME_OVER;
-        gameRunning = false;
+    // Asynchronous; the standing shows up whenever the server answers
+    private void submitToLeaderboard(int level, int score) {
+        lastStanding = null;
+        if (leaderboard == null) return;
+        leaderboard.submit(level, System.getProperty("user.name", "player"), score)
+                .whenComplete((standing, error) -> {
+                    if (error != null) {
+                        System.err.println("Leaderboard unreachable: " + error.getMessage());
+                    } else {
+                        lastStanding = standing;
+                    }
+                });
     }
 
-    private void handleLevelTransition() {
-        levelManager.advanceLevel();
-        gameSpeed = getSpeedForLevel(levelManager.getCurrentLevel());
+    private void publishSnapshot() {
+        snapshots.getWriteBuffer().copyFrom(simulation);
+        snapshots.publish();
+    }
 
-        // Update background for new level
-        background.setLevel(levelManager.getCurrentLevel());
+    /**
+     * Latest world published by the game thread. Call from the render thread
+     * only; the returned snapshot stays unchanged until the next call.
+     */
+    public WorldSnapshot latestSnapshot() {
+        return snapshots.read();
+    }
 
-        // Reset for new level but keep score
-        bird = new Bird(
-                Constants.BIRD_START_X,
-                Constants.BIRD_START_Y,
-                Constants.BIRD_WIDTH,
-                Constants.BIRD_HEIGHT,
-                levelManager.getCurrentLevel()
-        );
+    private void prepareLevel(int level) {
+        // Get the next level decoding while this one is played
+        LevelManager levelManager = simulation.getLevelManager();
+        if (level < levelManager.getMaxLevel() || levelManager.isEndless()) {
+            loadLevel(level + 1);
+        }
 
-        obstacles.clear();
-        spawnInitialObstacles();
+        pinLevel(level);
 
-        currentState = Constants.GameState.PLAYING;
+        // Already loaded unless the player got here faster than the prefetch
+        String skin = skinKey(level);
+        int packLevel = levelManager.getPackLevel(level);
+        birdSprites[packLevel] = SpriteRegistry.getBirdSprite(skin);
+        obstacleSprites[packLevel] = SpriteRegistry.getObstacleSprite(skin);
+        if (Constants.PIXEL_PERFECT_COLLISION) {
+            simulation.setCollisionMasks(SpriteRegistry.getBirdMask(skin), SpriteRegistry.getObstacleMask(skin));
+        }
     }
 
-    private int getSpeedForLevel(int level) {
-        switch (level) {
-            case 1: return Constants.GAME_SPEED_LEVEL_1;
-            case 2: return Constants.GAME_SPEED_LEVEL_2;
-            case 3: return Constants.GAME_SPEED_LEVEL_3;
-            default: return Constants.GAME_SPEED_LEVEL_1;
+    private void pinLevel(int level) {
+        LevelManager levelManager = simulation.getLevelManager();
+        String skin = levelManager.getSkinKey(level);
+        String backgroundKey = levelManager.getBackgroundKey(level);
+
+        // Pin the new level first so assets it shares with the old one never become evictable
+        SpriteRegistry.pin(skin);
+        AssetsLoader.pinBackground(backgroundKey);
+        if (pinnedSkin != null) {
+            SpriteRegistry.unpin(pinnedSkin);
+            AssetsLoader.unpinBackground(pinnedBackground);
         }
+        pinnedSkin = skin;
+        pinnedBackground = backgroundKey;
+    }
+
+    // The level pack is immutable, so the render thread may read it too
+    private String skinKey(int level) {
+        return simulation.getLevelManager().getSkinKey(level);
+    }
+
+    private Sprite birdSprite(int level) {
+        Sprite sprite = birdSprites[simulation.getLevelManager().getPackLevel(level)];
+        return sprite != null ? sprite : SpriteRegistry.getBirdSprite(skinKey(level));
+    }
+
+    private Sprite obstacleSprite(int level) {
+        Sprite sprite = obstacleSprites[simulation.getLevelManager().getPackLevel(level)];
+        return sprite != null ? sprite : SpriteRegistry.getObstacleSprite(skinKey(level));
     }
 
     public void render(Graphics g) {
+        render(g, latestSnapshot(), 1.0f);
+    }
+
+    /**
+     * Draw a snapshot between its previous and its current tick
+     *
+     * @param alpha how far past the snapshot's tick the frame is, in [0, 1]
+     */
+    public void render(Graphics g, WorldSnapshot world, float alpha) {
         // Draw background
-        background.draw(g);
+        background.setKey(simulation.getLevelManager().getBackgroundKey(world.getLevel()));
+        double distance = world.getPrevDistance() + (world.getDistance() - world.getPrevDistance()) * (double) alpha;
+        background.draw(g, distance);
 
         // Draw obstacles
-        for (Obstacle obstacle : obstacles) {
-            obstacle.draw(g);
+        for (int i = 0; i < world.getObstacleCount(); i++) {
+            obstacleSprite(world.getObstacleLevel(i)).draw(g,
+                    interpolate(world.getObstaclePrevX(i), world.getObstacleX(i), alpha), world.getObstacleY(i),
+                    world.getObstacleWidth(i), world.getObstacleHeight(i));
         }
 
         // Draw bird
-        bird.draw(g);
+        Sprite birdSprite = birdSprite(world.getLevel());
+        birdSprite.draw(g,
+                world.getBirdX(),
+                interpolate(world.getBirdPrevY(), world.getBirdY(), alpha),
+                world.getBirdWidth(), world.getBirdHeight());
 
         // Draw UI elements
-        drawUI(g);
+        drawUI(g, world);
+    }
+
+    private static int interpolate(int previous, int current, float alpha) {
+        return previous + Math.round((current - previous) * alpha);
     }
 
-    private void drawUI(Graphics g) {
-        g.setColor(Color.WHITE);
-        g.setFont(new Font("Arial", Font.BOLD, 24));
+    private void drawUI(Graphics g, WorldSnapshot world) {
+        int score = world.getScore();
 
         // Draw score
-        g.drawString("Score: " + score, 10, 30);
+        int x = hudFont.drawString(g, "Score: ", 10, 30);
+        hudFont.drawInt(g, score, x, 30);
 
         // Draw level
-        g.drawString("Level: " + levelManager.getCurrentLevel(), 10, 60);
+        x = hudFont.drawString(g, "Level: ", 10, 60);
+        hudFont.drawInt(g, world.getLevel(), x, 60);
 
         // Draw next level progress
         int currentLevelScore = score % Constants.SCORE_TO_NEXT_LEVEL;
-        g.drawString("Next Level: " + currentLevelScore + "/" + Constants.SCORE_TO_NEXT_LEVEL, 10, 90);
+        x = hudFont.drawString(g, "Next Level: ", 10, 90);
+        x = hudFont.drawInt(g, currentLevelScore, x, 90);
+        x = hudFont.drawString(g, "/", x, 90);
+        hudFont.drawInt(g, Constants.SCORE_TO_NEXT_LEVEL, x, 90);
     }
 
-    // KeyListener implementation
+    // KeyListener implementation, called on the EDT: queue only
     @Override
     public void keyPressed(KeyEvent e) {
-        int key = e.getKeyCode();
+        queue(InputQueue.KEY_PRESSED, e.getKeyCode());
+    }
+
+    @Override
+    public void keyReleased(KeyEvent e) {
+        queue(InputQueue.KEY_RELEASED, e.getKeyCode());
+    }
+
+    @Override
+    public void keyTyped(KeyEvent e) {
+        // Not used
+    }
+
+    // A full queue drops the event; getDroppedInputs() counts those
+    private void queue(int kind, int code) {
+        input.offer(kind, code, System.nanoTime());
+    }
 
-        switch (currentState) {
+    private void handleKeyPress(int key) {
+        switch (simulation.getCurrentState()) {
             case MAIN_MENU:
                 if (key == KeyEvent.VK_SPACE || key == KeyEvent.VK_ENTER) {
                     startGame();
@@ -276,12 +440,11 @@ public class GameManager implements KeyListener {
 
             case PLAYING:
                 if (key == KeyEvent.VK_SPACE && !spacePressed) {
-                    bird.jump();
+                    flapRequested = true;
                     spacePressed = true;
                 }
                 if (key == KeyEvent.VK_ESCAPE) {
-                    currentState = Constants.GameState.MAIN_MENU;
-                    gameRunning = false;
+                    simulation.returnToMenu();
                 }
                 break;
 
@@ -291,43 +454,104 @@ public class GameManager implements KeyListener {
                     startGame();
                 } else if (key == KeyEvent.VK_M) {
                     resetGame();
-                    currentState = Constants.GameState.MAIN_MENU;
+                    simulation.returnToMenu();
+                } else if (key == KeyEvent.VK_P && lastReplay != null) {
+                    playReplay(lastReplay);
                 }
                 break;
         }
     }
 
-    @Override
-    public void keyReleased(KeyEvent e) {
-        if (e.getKeyCode() == KeyEvent.VK_SPACE) {
+    private void handleKeyRelease(int key) {
+        if (key == KeyEvent.VK_SPACE) {
             spacePressed = false;
         }
     }
 
-    @Override
-    public void keyTyped(KeyEvent e) {
-        // Not used
+    // Getters
+    /**
+     * Fraction of the startup assets loaded, from 0 to 1
+     */
+    public float getLoadingProgress() {
+        return loading.getProgress();
     }
 
-    // Getters
     public Constants.GameState getCurrentState() {
-        return currentState;
+        return simulation.getCurrentState();
     }
 
     public int getScore() {
-        return score;
+        return simulation.getScore();
     }
 
     public int getCurrentLevel() {
-        return levelManager.getCurrentLevel();
+        return simulation.getCurrentLevel();
     }
 
     public boolean isGameRunning() {
-        return gameRunning;
+        return simulation.isGameRunning();
+    }
+
+    public Simulation getSimulation() {
+        return simulation;
+    }
+
+    /**
+     * Recording of the last finished run, or null if none finished yet
+     */
+    public Replay getLastReplay() {
+        return lastReplay;
+    }
+
+    /**
+     * Whether the last finished run beat the best score of its level.
+     * Replays never count.
+     */
+    public boolean isNewHighScore() {
+        return newHighScore;
+    }
+
+    /**
+     * Online rank of the last finished run, or null if unknown (yet)
+     */
+    public Leaderboard.Standing getLastStanding() {
+        return lastStanding;
+    }
+
+    public HighScoreStore getHighScores() {
+        return highScores;
+    }
+
+    public boolean isPlayingReplay() {
+        return playback != null;
+    }
+
+    /**
+     * Input events lost to a full queue
+     */
+    public long getDroppedInputs() {
+        return input.getDropped();
     }
 
     // Setters
+    /**
+     * Switch state at the start of the next tick. For the EDT, like key events.
+     */
     public void setState(Constants.GameState state) {
-        this.currentState = state;
+        queue(InputQueue.SET_STATE, state.ordinal());
+    }
+
+    /**
+     * Start playing from the main menu at the start of the next tick. For the EDT.
+     */
+    public void requestStart() {
+        queue(InputQueue.START, 0);
+    }
+
+    /**
+     * Start a fresh run from the game over screen at the start of the next tick. For the EDT.
+     */
+    public void requestRestart() {
+        queue(InputQueue.RESTART, 0);
     }
-}
\ No newline at end of file
+}
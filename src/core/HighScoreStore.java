@@ -0,0 +1,416 @@
+package core;
+
+import utils.Constants;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Local high scores that survive restarts.
+ *
+ * Recording a score only updates the in-memory {@link TopScores} of its level
+ * and queues it; a background writer appends queued scores to a log as
+ * checksummed records, committing everything that arrived within
+ * Constants.HIGH_SCORE_SYNC_INTERVAL_MS with one write and one fsync. After
+ * Constants.HIGH_SCORE_COMPACT_RECORDS records the writer saves a snapshot
+ * of just the tables and starts a fresh log. The game thread never waits on
+ * the disk.
+ *
+ * <pre>
+ * log       "FBHL" | u16 version | u16 record size | i64 generation | records
+ * snapshot  "FBHS" | u16 version | u16 record size | i64 generation | i32 count | records
+ * record    i32 level | i32 score | i64 time ms | i32 CRC32 of the first 16 bytes
+ * </pre>
+ * All numbers are little-endian. A snapshot of generation G already holds
+ * every score of the logs up to G, so such a log is discarded when opened.
+ * A log ends at its first torn or corrupt record; anything after it is cut.
+ * Both files are replaced by writing a temporary file and renaming it.
+ */
+public class HighScoreStore {
+    private static final int LOG_MAGIC = 0x4C484246;      // "FBHL" read little-endian
+    private static final int SNAPSHOT_MAGIC = 0x53484246; // "FBHS" read little-endian
+    private static final short VERSION = 1;
+    private static final int LOG_HEADER_SIZE = 16;
+    private static final int SNAPSHOT_HEADER_SIZE = 20;
+    private static final int RECORD_SIZE = 20;
+
+    // Queued to make the writer commit at once, or commit and stop
+    private static final Score FLUSH = new Score(0, 0, 0);
+    private static final Score CLOSE = new Score(0, 0, 0);
+
+    private static HighScoreStore defaultStore;
+
+    private final Path logPath;
+    private final Path snapshotPath;
+    private final int tableSize;
+
+    // Every recorded score, including those not on disk yet; guarded by this
+    private final Map<Integer, TopScores> tables = new HashMap<>();
+    private long submitted;
+    private long committed;
+
+    // Writer thread only: what is on disk, the source of snapshots
+    private final Map<Integer, TopScores> durableTables = new HashMap<>();
+    private FileChannel log;
+    private long generation;
+    private int logRecords;
+
+    private final BlockingQueue<Score> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+
+    /**
+     * Open (or create) a store, reading the snapshot and replaying the log
+     *
+     * @param tableSize scores kept per level
+     */
+    public HighScoreStore(Path logPath, Path snapshotPath, int tableSize) throws IOException {
+        this.logPath = logPath;
+        this.snapshotPath = snapshotPath;
+        this.tableSize = tableSize;
+
+        if (logPath.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(logPath.toAbsolutePath().getParent());
+        }
+        open();
+        for (Map.Entry<Integer, TopScores> entry : durableTables.entrySet()) {
+            TopScores table = entry.getValue();
+            for (int i = 0; i < table.size(); i++) {
+                table(tables, entry.getKey()).offer(table.getScore(i), table.getTime(i));
+            }
+        }
+
+        writer = new Thread(this::runWriter, "high-score-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Kept in memory only, for when the files cannot be used
+    private HighScoreStore(int tableSize) {
+        this.logPath = null;
+        this.snapshotPath = null;
+        this.tableSize = tableSize;
+        this.writer = null;
+    }
+
+    /**
+     * The store at Constants.HIGH_SCORE_LOG_PATH / HIGH_SCORE_SNAPSHOT_PATH,
+     * flushed when the JVM exits. If it cannot be opened, scores are kept
+     * for this session only and the files are left alone.
+     */
+    public static synchronized HighScoreStore getDefault() {
+        if (defaultStore == null) {
+            try {
+                defaultStore = new HighScoreStore(Paths.get(Constants.HIGH_SCORE_LOG_PATH),
+                        Paths.get(Constants.HIGH_SCORE_SNAPSHOT_PATH), Constants.HIGH_SCORES_PER_LEVEL);
+                Runtime.getRuntime().addShutdownHook(new Thread(defaultStore::close, "high-score-close"));
+            } catch (IOException e) {
+                e.printStackTrace();
+                System.err.println("Skor tertinggi tidak bisa dibaca: " + Constants.HIGH_SCORE_LOG_PATH);
+                defaultStore = new HighScoreStore(Constants.HIGH_SCORES_PER_LEVEL);
+            }
+        }
+        return defaultStore;
+    }
+
+    /**
+     * Record a finished run. Returns at once; the score reaches the disk
+     * within the sync interval.
+     *
+     * @return whether the score beats the level's best so far
+     */
+    public boolean record(int level, int score) {
+        long time = System.currentTimeMillis();
+        boolean newBest;
+        synchronized (this) {
+            TopScores table = table(tables, level);
+            newBest = score > table.getBest();
+            table.offer(score, time);
+            if (writer == null) return newBest;
+            submitted++;
+        }
+        queue.add(new Score(level, score, time));
+        return newBest;
+    }
+
+    /**
+     * Block until every score recorded so far has been committed (or has
+     * failed to be)
+     */
+    public void flush() throws InterruptedException {
+        if (writer == null) return;
+        long target;
+        synchronized (this) {
+            target = submitted;
+        }
+        queue.add(FLUSH);
+        synchronized (this) {
+            while (committed < target && writer.isAlive()) {
+                wait();
+            }
+        }
+    }
+
+    /**
+     * Commit what is queued and stop the writer; later scores stay in memory
+     */
+    public void close() {
+        if (writer == null || !writer.isAlive()) return;
+        queue.add(CLOSE);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private TopScores table(Map<Integer, TopScores> tables, int level) {
+        return tables.computeIfAbsent(level, key -> new TopScores(tableSize));
+    }
+
+    // Writer thread
+
+    private void runWriter() {
+        List<Score> batch = new ArrayList<>();
+        long syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Constants.HIGH_SCORE_SYNC_INTERVAL_MS);
+        try {
+            while (true) {
+                // Group commit: whatever arrives within the interval shares one fsync
+                Score next = queue.take();
+                long deadline = System.nanoTime() + syncIntervalNanos;
+                while (next != null && next != FLUSH && next != CLOSE) {
+                    batch.add(next);
+                    next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                }
+                commit(batch);
+                batch.clear();
+                if (next == CLOSE) break;
+            }
+        } catch (InterruptedException e) {
+            // Daemon thread interrupted by its owner: stop without writing
+        } finally {
+            try {
+                log.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    private void commit(List<Score> batch) {
+        try {
+            if (!batch.isEmpty()) {
+                ByteBuffer out = ByteBuffer.allocate(batch.size() * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                for (Score score : batch) {
+                    putRecord(out, score.level, score.score, score.time);
+                }
+                out.flip();
+                while (out.hasRemaining()) {
+                    log.write(out);
+                }
+                log.force(false);
+
+                for (Score score : batch) {
+                    table(durableTables, score.level).offer(score.score, score.time);
+                }
+                logRecords += batch.size();
+                if (logRecords >= Constants.HIGH_SCORE_COMPACT_RECORDS) {
+                    compact();
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.err.println("Skor tidak bisa disimpan: " + logPath);
+        }
+        synchronized (this) {
+            committed += batch.size();
+            notifyAll();
+        }
+    }
+
+    // Replace the snapshot with the current tables, then start the next log generation
+    private void compact() throws IOException {
+        int count = 0;
+        for (TopScores table : durableTables.values()) {
+            count += table.size();
+        }
+        ByteBuffer out = ByteBuffer.allocate(SNAPSHOT_HEADER_SIZE + count * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(SNAPSHOT_MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE).putLong(generation).putInt(count);
+        for (Map.Entry<Integer, TopScores> entry : durableTables.entrySet()) {
+            TopScores table = entry.getValue();
+            for (int i = 0; i < table.size(); i++) {
+                putRecord(out, entry.getKey(), table.getScore(i), table.getTime(i));
+            }
+        }
+        replace(snapshotPath, out.array());
+
+        log.close();
+        startLog(generation + 1);
+    }
+
+    // Startup
+
+    private void open() throws IOException {
+        long snapshotGeneration = readSnapshot();
+        if (Files.isRegularFile(logPath)) {
+            ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(logPath)).order(ByteOrder.LITTLE_ENDIAN);
+            if (data.capacity() < LOG_HEADER_SIZE || data.getInt(0) != LOG_MAGIC) {
+                throw new IOException("Not a high score log: " + logPath);
+            }
+            if (data.getShort(4) != VERSION || data.getShort(6) != RECORD_SIZE) {
+                throw new IOException("Unsupported high score log version " + data.getShort(4));
+            }
+            long logGeneration = data.getLong(8);
+            if (logGeneration > snapshotGeneration) {
+                replayLog(data, logGeneration);
+                return;
+            }
+            // Left over from a compaction that stopped before the new log was in place
+        }
+        startLog(snapshotGeneration + 1);
+    }
+
+    // Load the snapshot into durableTables; returns its generation, 0 if there is none
+    private long readSnapshot() throws IOException {
+        if (!Files.isRegularFile(snapshotPath)) {
+            return 0;
+        }
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(snapshotPath)).order(ByteOrder.LITTLE_ENDIAN);
+        if (data.capacity() < SNAPSHOT_HEADER_SIZE || data.getInt(0) != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a high score snapshot: " + snapshotPath);
+        }
+        if (data.getShort(4) != VERSION || data.getShort(6) != RECORD_SIZE) {
+            throw new IOException("Unsupported high score snapshot version " + data.getShort(4));
+        }
+        int count = data.getInt(16);
+        if (count < 0 || SNAPSHOT_HEADER_SIZE + (long) count * RECORD_SIZE != data.capacity()) {
+            throw new IOException("Corrupt high score snapshot: " + snapshotPath);
+        }
+        for (int i = 0; i < count; i++) {
+            int position = SNAPSHOT_HEADER_SIZE + i * RECORD_SIZE;
+            if (!isValidRecord(data, position)) {
+                throw new IOException("Corrupt high score snapshot record " + i);
+            }
+            table(durableTables, data.getInt(position)).offer(data.getInt(position + 4), data.getLong(position + 8));
+        }
+        return data.getLong(8);
+    }
+
+    private void replayLog(ByteBuffer data, long logGeneration) throws IOException {
+        int position = LOG_HEADER_SIZE;
+        while (position + RECORD_SIZE <= data.capacity() && isValidRecord(data, position)) {
+            table(durableTables, data.getInt(position)).offer(data.getInt(position + 4), data.getLong(position + 8));
+            position += RECORD_SIZE;
+            logRecords++;
+        }
+
+        log = FileChannel.open(logPath, StandardOpenOption.WRITE);
+        if (position < data.capacity()) {
+            System.err.println("High score log cut at byte " + position + " of " + data.capacity());
+            log.truncate(position);
+            log.force(false);
+        }
+        log.position(position);
+        generation = logGeneration;
+    }
+
+    private void startLog(long newGeneration) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(LOG_MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE).putLong(newGeneration);
+        replace(logPath, header.array());
+
+        log = FileChannel.open(logPath, StandardOpenOption.WRITE);
+        log.position(LOG_HEADER_SIZE);
+        generation = newGeneration;
+        logRecords = 0;
+    }
+
+    // Records and files
+
+    private static void putRecord(ByteBuffer out, int level, int score, long time) {
+        int start = out.position();
+        out.putInt(level).putInt(score).putLong(time);
+        CRC32 crc = new CRC32();
+        crc.update(out.array(), start, RECORD_SIZE - 4);
+        out.putInt((int) crc.getValue());
+    }
+
+    private static boolean isValidRecord(ByteBuffer data, int position) {
+        CRC32 crc = new CRC32();
+        crc.update(data.array(), position, RECORD_SIZE - 4);
+        return data.getInt(position + RECORD_SIZE - 4) == (int) crc.getValue() && data.getInt(position) >= 1;
+    }
+
+    // Write a whole file durably under a temporary name, then rename it into place
+    private static void replace(Path path, byte[] contents) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(contents);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Getters
+
+    /**
+     * Best score recorded for a level, 0 if none
+     */
+    public synchronized int getBest(int level) {
+        TopScores table = tables.get(level);
+        return table == null ? 0 : table.getBest();
+    }
+
+    /**
+     * A level's table from highest to lowest score
+     */
+    public synchronized int[] getTopScores(int level) {
+        TopScores table = tables.get(level);
+        return table == null ? new int[0] : table.getScores();
+    }
+
+    /**
+     * Whether a score would make the level's table
+     */
+    public synchronized boolean qualifies(int level, int score) {
+        TopScores table = tables.get(level);
+        return table == null || table.qualifies(score);
+    }
+
+    public int getTableSize() {
+        return tableSize;
+    }
+
+    private static final class Score {
+        final int level;
+        final int score;
+        final long time;
+
+        Score(int level, int score, long time) {
+            this.level = level;
+            this.score = score;
+            this.time = time;
+        }
+    }
+}
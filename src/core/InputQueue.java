@@ -0,0 +1,113 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free ring of input events from one producer thread (the EDT) to one
+ * consumer thread (the game thread), each event stamped with
+ * {@link System#nanoTime()} when it was offered.
+ *
+ * The producer only ever writes the tail and the consumer only the head;
+ * each publishes its position with a release store that the other reads
+ * with a volatile load, so slot contents written before publishing are
+ * visible to the other side. Each side caches the other's position and only
+ * re-reads it when the ring looks full or empty.
+ *
+ * The consumer peeks at the oldest event before removing it, so it can
+ * leave an event queued for a later tick.
+ */
+public class InputQueue {
+    public static final int KEY_PRESSED = 0;
+    public static final int KEY_RELEASED = 1;
+    public static final int SET_STATE = 2;
+    public static final int START = 3;
+    public static final int RESTART = 4;
+
+    private final int[] kinds;
+    private final int[] codes;
+    private final long[] times;
+    private final int mask;
+
+    private final AtomicLong head = new AtomicLong(); // next slot to read, written by the consumer
+    private final AtomicLong tail = new AtomicLong(); // next slot to write, written by the producer
+    private long producerHead;                        // producer's copy of head
+    private long consumerTail;                        // consumer's copy of tail
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param capacity a power of two
+     */
+    public InputQueue(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.kinds = new int[capacity];
+        this.codes = new int[capacity];
+        this.times = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Producer only: queue an event
+     *
+     * @return false if the ring was full and the event was dropped
+     */
+    public boolean offer(int kind, int code, long time) {
+        long t = tail.get();
+        if (t - producerHead > mask) {
+            producerHead = head.get();
+            if (t - producerHead > mask) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        }
+        int slot = (int) t & mask;
+        kinds[slot] = kind;
+        codes[slot] = code;
+        times[slot] = time;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Consumer only: whether an event stamped no later than until is waiting.
+     * If so, getKind(), getCode() and getTime() describe it until remove().
+     */
+    public boolean isReady(long until) {
+        long h = head.get();
+        if (h == consumerTail) {
+            consumerTail = tail.get();
+            if (h == consumerTail) {
+                return false;
+            }
+        }
+        return times[(int) h & mask] - until <= 0;
+    }
+
+    /**
+     * Consumer only: drop the oldest event, after isReady() returned true
+     */
+    public void remove() {
+        head.lazySet(head.get() + 1);
+    }
+
+    // Getters
+    public int getKind() {
+        return kinds[(int) head.get() & mask];
+    }
+
+    public int getCode() {
+        return codes[(int) head.get() & mask];
+    }
+
+    public long getTime() {
+        return times[(int) head.get() & mask];
+    }
+
+    /**
+     * Events lost because the consumer fell a full ring behind
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+}
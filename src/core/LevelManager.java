@@ -3,13 +3,20 @@ package core;
 import utils.Constants;
 
 public class LevelManager {
+    private final LevelPack levelPack;
     private int currentLevel;
     private int maxLevel;
     private boolean[] levelUnlocked;
+    private boolean endless;
 
     public LevelManager() {
+        this(LevelPack.getDefault());
+    }
+
+    public LevelManager(LevelPack levelPack) {
+        this.levelPack = levelPack;
         this.currentLevel = 1;
-        this.maxLevel = Constants.TOTAL_LEVELS;
+        this.maxLevel = levelPack.getLevelCount();
         this.levelUnlocked = new boolean[maxLevel + 1]; // Index 0 unused
 
         // Initialize level unlocking (level 1 is always unlocked)
@@ -35,7 +42,7 @@ public class LevelManager {
      * Check if player can advance to the next level
      */
     public boolean canAdvanceLevel() {
-        return currentLevel < maxLevel;
+        return endless || currentLevel < maxLevel;
     }
 
     /**
@@ -49,6 +56,19 @@ public class LevelManager {
         return false;
     }
 
+    /**
+     * Jump straight to a level, unlocking it, e.g. to restore a recorded run.
+     * Levels past the pack are generated, so they only exist in endless mode.
+     */
+    public boolean restoreLevel(int level) {
+        if (level < 1 || (level > maxLevel && !endless)) {
+            return false;
+        }
+        unlockLevel(level);
+        currentLevel = level;
+        return true;
+    }
+
     /**
      * Unlock a specific level
      */
@@ -98,12 +118,8 @@ public class LevelManager {
      * Get level difficulty multiplier for specific level
      */
     public double getDifficultyMultiplier(int level) {
-        switch (level) {
-            case 1: return 1.0;
-            case 2: return 1.3;
-            case 3: return 1.6;
-            default: return 1.0;
-        }
+        if (level < 1) return 1.0;
+        return levelPack.getDifficulty(getPackLevel(level));
     }
 
     /**
@@ -117,12 +133,9 @@ public class LevelManager {
      * Get level name/description for specific level
      */
     public String getLevelName(int level) {
-        switch (level) {
-            case 1: return "Forest Valley";
-            case 2: return "Mountain Pass";
-            case 3: return "Sky Temple";
-            default: return "Unknown Level";
-        }
+        if (level < 1) return "Unknown Level";
+        if (level > maxLevel) return "Endless " + (level - maxLevel);
+        return levelPack.getName(level);
     }
 
     /**
@@ -136,12 +149,8 @@ public class LevelManager {
      * Get level description for specific level
      */
     public String getLevelDescription(int level) {
-        switch (level) {
-            case 1: return "A peaceful forest with gentle obstacles";
-            case 2: return "Rocky mountains with challenging terrain";
-            case 3: return "Ancient temple floating in the clouds";
-            default: return "Unknown location";
-        }
+        if (level < 1 || level > maxLevel) return "Unknown location";
+        return levelPack.getDescription(level);
     }
 
     /**
@@ -217,17 +226,89 @@ public class LevelManager {
         return "Progress: " + unlockedCount + "/" + maxLevel + " levels unlocked";
     }
 
+    /**
+     * Get scroll speed (pixels per tick) for specific level
+     */
+    public int getGameSpeed(int level) {
+        int speed = levelPack.getSpeed(getPackLevel(level));
+        if (level <= maxLevel) return speed;
+        // Endless levels speed up every other level
+        return Math.max(speed, Math.min(Constants.GAME_SPEED_MAX, speed + (level - maxLevel) / 2));
+    }
+
+    /**
+     * Get height of the gap between pipes for specific level
+     */
+    public int getObstacleGap(int level) {
+        int gap = levelPack.getGap(getPackLevel(level));
+        if (level <= maxLevel) return gap;
+        return Math.min(gap, Math.max(Constants.OBSTACLE_GAP_MIN, gap - 5 * (level - maxLevel)));
+    }
+
+    /**
+     * Get minimum distance of the gap from the top of the screen for specific level
+     */
+    public int getGapMargin(int level) {
+        return levelPack.getGapMargin(getPackLevel(level));
+    }
+
+    /**
+     * Get time between pipe spawns for specific level
+     */
+    public int getSpawnIntervalMs(int level) {
+        int interval = levelPack.getSpawnIntervalMs(getPackLevel(level));
+        if (level <= maxLevel) return interval;
+        return Math.min(interval, Math.max(Constants.OBSTACLE_SPAWN_INTERVAL_MIN_MS, interval - 50 * (level - maxLevel)));
+    }
+
+    /**
+     * Get background image key for specific level
+     */
+    public String getBackgroundKey(int level) {
+        return levelPack.getBackgroundKey(getPackLevel(level));
+    }
+
+    /**
+     * Get bird and obstacle skin key for specific level
+     */
+    public String getSkinKey(int level) {
+        return levelPack.getSkinKey(getPackLevel(level));
+    }
+
+    /**
+     * Level of the pack whose settings and assets a level uses; endless
+     * levels build on the last level of the pack
+     */
+    public int getPackLevel(int level) {
+        return Math.max(1, Math.min(level, maxLevel));
+    }
+
+    /**
+     * Keep advancing past the last level with ever harder generated levels
+     */
+    public void setEndless(boolean endless) {
+        this.endless = endless;
+    }
+
+    public boolean isEndless() {
+        return endless;
+    }
+
     // Getters
     public int getCurrentLevel() {
         return currentLevel;
     }
 
+    public LevelPack getLevelPack() {
+        return levelPack;
+    }
+
     public int getMaxLevel() {
         return maxLevel;
     }
 
     public boolean isMaxLevel() {
-        return currentLevel == maxLevel;
+        return !endless && currentLevel == maxLevel;
     }
 
     public boolean isFirstLevel() {
@@ -0,0 +1,268 @@
+package core;
+
+import utils.Constants;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only table of level definitions.
+ *
+ * A pack file is a fixed-size header, one fixed-size record per level and a
+ * string table. It is memory-mapped as is and every lookup reads straight
+ * from the mapping at header + (level - 1) * record size, so opening a pack
+ * of thousands of levels costs no parsing and each lookup is O(1). Strings
+ * are only decoded when asked for; background and skin keys, which the
+ * renderer asks for every frame, are kept after their first decode.
+ *
+ * <pre>
+ * header  "FBLP" | u16 version | u16 record size | i32 level count | i32 string table offset
+ * record  i32 speed | i32 gap | i32 gap margin | i32 spawn interval ms | f64 difficulty
+ *         | i32 name | i32 description | i32 background key | i32 skin key   (string offsets)
+ * string  u16 length | UTF-8 bytes
+ * </pre>
+ * All numbers are little-endian.
+ */
+public class LevelPack {
+    private static final int MAGIC = 0x504C4246; // "FBLP" read little-endian
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_SIZE = 40;
+
+    // Record field offsets
+    private static final int SPEED = 0;
+    private static final int GAP = 4;
+    private static final int GAP_MARGIN = 8;
+    private static final int SPAWN_INTERVAL = 12;
+    private static final int DIFFICULTY = 16;
+    private static final int NAME = 24;
+    private static final int DESCRIPTION = 28;
+    private static final int BACKGROUND_KEY = 32;
+    private static final int SKIN_KEY = 36;
+
+    private static LevelPack defaultPack;
+
+    private final ByteBuffer data;
+    private final int levelCount;
+    private final int stringTable;
+    private final String[] backgroundKeys;
+    private final String[] skinKeys;
+
+    private LevelPack(ByteBuffer data) throws IOException {
+        this.data = data.order(ByteOrder.LITTLE_ENDIAN);
+        if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IOException("Not a level pack");
+        }
+        if (data.getShort(4) != VERSION || data.getShort(6) != RECORD_SIZE) {
+            throw new IOException("Unsupported level pack version " + data.getShort(4));
+        }
+        this.levelCount = data.getInt(8);
+        this.stringTable = data.getInt(12);
+        if (levelCount < 1 || stringTable < HEADER_SIZE
+                || (long) HEADER_SIZE + (long) levelCount * RECORD_SIZE > stringTable
+                || stringTable > data.capacity()) {
+            throw new IOException("Corrupt level pack header");
+        }
+        this.backgroundKeys = new String[levelCount];
+        this.skinKeys = new String[levelCount];
+    }
+
+    /**
+     * Memory-map a pack file. The mapping stays valid after the file is closed.
+     */
+    public static LevelPack open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new LevelPack(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * The three original levels
+     */
+    public static LevelPack builtIn() {
+        return new Builder()
+                .addLevel("Forest Valley", "A peaceful forest with gentle obstacles",
+                        Constants.GAME_SPEED_LEVEL_1, Constants.OBSTACLE_GAP, Constants.OBSTACLE_GAP_MARGIN,
+                        Constants.OBSTACLE_SPAWN_INTERVAL_MS, 1.0, "level1", "level1")
+                .addLevel("Mountain Pass", "Rocky mountains with challenging terrain",
+                        Constants.GAME_SPEED_LEVEL_2, Constants.OBSTACLE_GAP, Constants.OBSTACLE_GAP_MARGIN,
+                        Constants.OBSTACLE_SPAWN_INTERVAL_MS, 1.3, "level2", "level2")
+                .addLevel("Sky Temple", "Ancient temple floating in the clouds",
+                        Constants.GAME_SPEED_LEVEL_3, Constants.OBSTACLE_GAP, Constants.OBSTACLE_GAP_MARGIN,
+                        Constants.OBSTACLE_SPAWN_INTERVAL_MS, 1.6, "level2", "level3")
+                .build();
+    }
+
+    /**
+     * The pack at Constants.LEVEL_PACK_PATH if there is one, otherwise the
+     * built-in levels. Opened once and shared.
+     */
+    public static synchronized LevelPack getDefault() {
+        if (defaultPack == null) {
+            Path path = Paths.get(Constants.LEVEL_PACK_PATH);
+            if (Files.isRegularFile(path)) {
+                try {
+                    defaultPack = open(path);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                    System.err.println("Paket level tidak bisa dibaca: " + path);
+                }
+            }
+            if (defaultPack == null) {
+                defaultPack = builtIn();
+            }
+        }
+        return defaultPack;
+    }
+
+    public int getLevelCount() {
+        return levelCount;
+    }
+
+    public int getSpeed(int level) {
+        return data.getInt(record(level) + SPEED);
+    }
+
+    public int getGap(int level) {
+        return data.getInt(record(level) + GAP);
+    }
+
+    public int getGapMargin(int level) {
+        return data.getInt(record(level) + GAP_MARGIN);
+    }
+
+    public int getSpawnIntervalMs(int level) {
+        return data.getInt(record(level) + SPAWN_INTERVAL);
+    }
+
+    public double getDifficulty(int level) {
+        return data.getDouble(record(level) + DIFFICULTY);
+    }
+
+    public String getName(int level) {
+        return string(record(level) + NAME);
+    }
+
+    public String getDescription(int level) {
+        return string(record(level) + DESCRIPTION);
+    }
+
+    /**
+     * Key of the level's background image (asset/background/&lt;key&gt;.png)
+     */
+    public String getBackgroundKey(int level) {
+        return cachedString(backgroundKeys, level, BACKGROUND_KEY);
+    }
+
+    /**
+     * Key of the level's bird and obstacle skins (see {@link ui.SkinSelector})
+     */
+    public String getSkinKey(int level) {
+        return cachedString(skinKeys, level, SKIN_KEY);
+    }
+
+    private int record(int level) {
+        if (level < 1 || level > levelCount) {
+            throw new IllegalArgumentException("Level " + level + " is not in this pack (1-" + levelCount + ")");
+        }
+        return HEADER_SIZE + (level - 1) * RECORD_SIZE;
+    }
+
+    // Threads racing on a first lookup each decode the same key; Strings are safe to share that way
+    private String cachedString(String[] cache, int level, int field) {
+        int record = record(level);
+        String value = cache[level - 1];
+        if (value == null) {
+            value = string(record + field);
+            cache[level - 1] = value;
+        }
+        return value;
+    }
+
+    // Absolute reads only, so concurrent readers never disturb each other
+    private String string(int field) {
+        int offset = stringTable + data.getInt(field);
+        int length = data.getShort(offset) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        data.get(offset + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes level packs. Identical strings are stored once.
+     */
+    public static class Builder {
+        private final List<int[]> records = new ArrayList<>();
+        private final List<byte[]> strings = new ArrayList<>();
+        private final Map<String, Integer> stringOffsets = new HashMap<>();
+        private int stringTableSize;
+
+        public Builder addLevel(String name, String description, int speed, int gap, int gapMargin,
+                                int spawnIntervalMs, double difficulty, String backgroundKey, String skinKey) {
+            if (speed <= 0 || gap <= 0 || gapMargin < 0 || spawnIntervalMs <= 0) {
+                throw new IllegalArgumentException("Invalid settings for level " + name);
+            }
+            long difficultyBits = Double.doubleToLongBits(difficulty);
+            records.add(new int[] {
+                    speed, gap, gapMargin, spawnIntervalMs, (int) difficultyBits, (int) (difficultyBits >>> 32),
+                    intern(name), intern(description), intern(backgroundKey), intern(skinKey)
+            });
+            return this;
+        }
+
+        private int intern(String value) {
+            return stringOffsets.computeIfAbsent(value, key -> {
+                byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > 0xFFFF) {
+                    throw new IllegalArgumentException("String too long for a level pack");
+                }
+                int offset = stringTableSize;
+                strings.add(bytes);
+                stringTableSize += 2 + bytes.length;
+                return offset;
+            });
+        }
+
+        public byte[] toBytes() {
+            if (records.isEmpty()) {
+                throw new IllegalStateException("A level pack needs at least one level");
+            }
+            int stringTable = HEADER_SIZE + records.size() * RECORD_SIZE;
+            ByteBuffer out = ByteBuffer.allocate(stringTable + stringTableSize).order(ByteOrder.LITTLE_ENDIAN);
+            out.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE)
+                    .putInt(records.size()).putInt(stringTable);
+            for (int[] record : records) {
+                for (int field : record) {
+                    out.putInt(field);
+                }
+            }
+            for (byte[] bytes : strings) {
+                out.putShort((short) bytes.length).put(bytes);
+            }
+            return out.array();
+        }
+
+        public LevelPack build() {
+            try {
+                return new LevelPack(ByteBuffer.wrap(toBytes()));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        public void write(Path path) throws IOException {
+            Files.write(path, toBytes());
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package core;
+
+import utils.CollisionMask;
+import utils.Constants;
+
+/**
+ * Live obstacles stored as primitive columns in a ring buffer.
+ *
+ * Obstacles are appended on the right and all move left at the same speed,
+ * so the buffer stays sorted by x: the oldest entry is always the leftmost
+ * one, culling only ever pops from the head, and collision checks binary
+ * search for the few obstacles overlapping the queried x-span instead of
+ * testing all of them. Moving, culling and collision checks allocate
+ * nothing; the columns are only reallocated if more than the initial
+ * capacity are alive at once.
+ *
+ * Index 0 is the oldest obstacle. Only the simulation mutates the buffer,
+ * everyone else gets read access through the getters.
+ */
+public class ObstacleBuffer {
+    private int[] x;
+    private int[] prevX;
+    private int[] y;
+    private int[] width;
+    private int[] height;
+    private int[] level;
+
+    private int head;
+    private int size;
+    private int mask;
+
+    // Broadphase bookkeeping
+    private int maxWidth;
+    private boolean sorted = true;
+
+    public ObstacleBuffer() {
+        this(Constants.OBSTACLE_CAPACITY);
+    }
+
+    public ObstacleBuffer(int capacity) {
+        allocate(Integer.highestOneBit(Math.max(2, capacity - 1)) << 1);
+    }
+
+    private void allocate(int capacity) {
+        x = new int[capacity];
+        prevX = new int[capacity];
+        y = new int[capacity];
+        width = new int[capacity];
+        height = new int[capacity];
+        level = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    void add(int obstacleX, int obstacleY, int obstacleWidth, int obstacleHeight, int obstacleLevel) {
+        if (size == x.length) {
+            grow();
+        }
+        if (size > 0 && obstacleX < x[(head + size - 1) & mask]) {
+            // Out of order spawn, collision falls back to a full scan until cleared
+            sorted = false;
+        }
+        maxWidth = Math.max(maxWidth, obstacleWidth);
+
+        int slot = (head + size) & mask;
+        x[slot] = obstacleX;
+        prevX[slot] = obstacleX;
+        y[slot] = obstacleY;
+        width[slot] = obstacleWidth;
+        height[slot] = obstacleHeight;
+        level[slot] = obstacleLevel;
+        size++;
+    }
+
+    /**
+     * Shift every obstacle left by speed pixels
+     */
+    void move(int speed) {
+        for (int i = 0, slot = head; i < size; i++, slot = (slot + 1) & mask) {
+            prevX[slot] = x[slot];
+            x[slot] -= speed;
+        }
+    }
+
+    /**
+     * Drop obstacles that have left the screen on the left
+     *
+     * @return how many were removed
+     */
+    int cull() {
+        int removed = 0;
+        while (size > 0 && x[head] + width[head] < 0) {
+            head = (head + 1) & mask;
+            size--;
+            removed++;
+        }
+        return removed;
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+        maxWidth = 0;
+        sorted = true;
+    }
+
+    /**
+     * Check a rectangle against the obstacles overlapping its x-span
+     */
+    public boolean intersects(int rx, int ry, int rw, int rh) {
+        return intersects(rx, ry, rw, rh, null, null);
+    }
+
+    /**
+     * Check a shape against the obstacles overlapping its x-span. When
+     * shapeMask is set, rectangle hits are confirmed per pixel against
+     * obstacleMask (null obstacleMask means solid obstacles).
+     */
+    public boolean intersects(int rx, int ry, int rw, int rh,
+                              CollisionMask shapeMask, CollisionMask obstacleMask) {
+        if (!sorted) {
+            for (int i = 0, slot = head; i < size; i++, slot = (slot + 1) & mask) {
+                if (overlaps(slot, rx, ry, rw, rh) && confirm(slot, rx, ry, shapeMask, obstacleMask)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Sweep from the first obstacle that can reach rx until they start past the right edge
+        int right = rx + rw;
+        for (int i = firstReaching(rx); i < size; i++) {
+            int slot = (head + i) & mask;
+            if (x[slot] >= right) {
+                break;
+            }
+            if (overlaps(slot, rx, ry, rw, rh) && confirm(slot, rx, ry, shapeMask, obstacleMask)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean confirm(int slot, int rx, int ry, CollisionMask shapeMask, CollisionMask obstacleMask) {
+        if (shapeMask == null) {
+            return true;
+        }
+        return CollisionMask.overlaps(shapeMask, rx, ry,
+                obstacleMask, x[slot], y[slot], width[slot], height[slot]);
+    }
+
+    /**
+     * Index of the first obstacle whose right edge can be past minX,
+     * given that no obstacle is wider than maxWidth
+     */
+    int firstReaching(int minX) {
+        int threshold = minX - maxWidth;
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (x[(head + mid) & mask] > threshold) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private boolean overlaps(int slot, int rx, int ry, int rw, int rh) {
+        int ow = width[slot];
+        int oh = height[slot];
+        return ow > 0 && oh > 0
+                && rx < x[slot] + ow && x[slot] < rx + rw
+                && ry < y[slot] + oh && y[slot] < ry + rh;
+    }
+
+    private void grow() {
+        int[] oldX = x, oldPrevX = prevX, oldY = y, oldWidth = width, oldHeight = height, oldLevel = level;
+        int oldHead = head, oldMask = mask;
+
+        allocate(oldX.length << 1);
+        for (int i = 0; i < size; i++) {
+            int slot = (oldHead + i) & oldMask;
+            x[i] = oldX[slot];
+            prevX[i] = oldPrevX[slot];
+            y[i] = oldY[slot];
+            width[i] = oldWidth[slot];
+            height[i] = oldHeight[slot];
+            level[i] = oldLevel[slot];
+        }
+        head = 0;
+    }
+
+    // Getters (index 0 is the oldest obstacle)
+    public int size() {
+        return size;
+    }
+
+    public int getX(int index) {
+        return x[slot(index)];
+    }
+
+    public int getPrevX(int index) {
+        return prevX[slot(index)];
+    }
+
+    public int getY(int index) {
+        return y[slot(index)];
+    }
+
+    public int getWidth(int index) {
+        return width[slot(index)];
+    }
+
+    public int getHeight(int index) {
+        return height[slot(index)];
+    }
+
+    public int getLevel(int index) {
+        return level[slot(index)];
+    }
+
+    private int slot(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Obstacle " + index + " of " + size);
+        }
+        return (head + index) & mask;
+    }
+}
@@ -0,0 +1,20 @@
+package core;
+
+/**
+ * Source of pipe layouts. Implementations must be deterministic for a given
+ * seed so runs can be replayed.
+ */
+public interface ObstacleGenerator {
+    /**
+     * Restart the stream from a seed
+     */
+    void reset(long seed);
+
+    /**
+     * Top of the gap of the next pipe pair
+     *
+     * @param gapHeight height of the gap the level asks for
+     * @param margin    minimum distance of the gap from the top of the screen
+     */
+    int nextGapY(int gapHeight, int margin);
+}
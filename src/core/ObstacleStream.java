@@ -0,0 +1,98 @@
+package core;
+
+/**
+ * Unbounded stream of pipe pairs with a small lookahead window.
+ *
+ * Descriptors are produced lazily by an {@link ObstacleGenerator} using the
+ * difficulty {@link LevelManager} gives for the current level, and kept in a
+ * fixed ring so upcoming pipes can be inspected before they spawn. Each
+ * descriptor packs gap y and gap height into one long, so the stream never
+ * allocates no matter how long a run lasts.
+ */
+public class ObstacleStream {
+    private final ObstacleGenerator generator;
+    private final LevelManager levelManager;
+    private final long[] lookahead;
+
+    private int head;
+    private int count;
+    private int level;
+
+    public ObstacleStream(ObstacleGenerator generator, LevelManager levelManager, int lookaheadSize) {
+        this.generator = generator;
+        this.levelManager = levelManager;
+        this.lookahead = new long[lookaheadSize];
+    }
+
+    public void reset(long seed) {
+        generator.reset(seed);
+        head = 0;
+        count = 0;
+        level = levelManager.getCurrentLevel();
+    }
+
+    /**
+     * Take the next pipe pair
+     */
+    public long next() {
+        syncLevel();
+        if (count == 0) {
+            fill();
+        }
+        long descriptor = lookahead[head];
+        head = (head + 1) % lookahead.length;
+        count--;
+        return descriptor;
+    }
+
+    /**
+     * Look at an upcoming pipe pair without taking it
+     *
+     * @param index 0 is what {@link #next()} returns next; must be below the lookahead size
+     */
+    public long peek(int index) {
+        if (index < 0 || index >= lookahead.length) {
+            throw new IndexOutOfBoundsException("Lookahead " + index + " of " + lookahead.length);
+        }
+        syncLevel();
+        if (index >= count) {
+            fill();
+        }
+        return lookahead[(head + index) % lookahead.length];
+    }
+
+    public int getLookaheadSize() {
+        return lookahead.length;
+    }
+
+    // Already generated pairs belong to the old level, regenerate with the new difficulty
+    private void syncLevel() {
+        int currentLevel = levelManager.getCurrentLevel();
+        if (currentLevel != level) {
+            level = currentLevel;
+            count = 0;
+        }
+    }
+
+    private void fill() {
+        int gapHeight = levelManager.getObstacleGap(level);
+        int margin = levelManager.getGapMargin(level);
+        while (count < lookahead.length) {
+            int gapY = generator.nextGapY(gapHeight, margin);
+            lookahead[(head + count) % lookahead.length] = pack(gapY, gapHeight);
+            count++;
+        }
+    }
+
+    public static long pack(int gapY, int gapHeight) {
+        return ((long) gapY << 32) | (gapHeight & 0xFFFFFFFFL);
+    }
+
+    public static int gapY(long descriptor) {
+        return (int) (descriptor >> 32);
+    }
+
+    public static int gapHeight(long descriptor) {
+        return (int) descriptor;
+    }
+}
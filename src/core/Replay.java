@@ -0,0 +1,186 @@
+package core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Everything needed to reproduce a run: the obstacle seed, the starting
+ * level, the tick rate it ran at and the run ticks on which the bird flapped.
+ *
+ * Binary layout: magic "FBR", version byte, 8-byte seed, then varints for
+ * the tick rate, the level, the run length in ticks, the final score, the
+ * flap count and the gaps between consecutive flap ticks. A typical flap
+ * costs one byte.
+ */
+public final class Replay {
+    private static final byte[] MAGIC = { 'F', 'B', 'R' };
+    private static final int VERSION = 1;
+
+    private final long seed;
+    private final int tickRate;
+    private final int level;
+    private final int[] flapTicks;
+    private final long length;
+    private final int finalScore;
+
+    public Replay(long seed, int tickRate, int level, int[] flapTicks, long length, int finalScore) {
+        this.seed = seed;
+        this.tickRate = tickRate;
+        this.level = level;
+        this.flapTicks = flapTicks.clone();
+        this.length = length;
+        this.finalScore = finalScore;
+    }
+
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(24 + flapTicks.length);
+        out.write(MAGIC, 0, MAGIC.length);
+        out.write(VERSION);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (seed >>> shift));
+        }
+        writeVarint(out, tickRate);
+        writeVarint(out, level);
+        writeVarint(out, length);
+        writeVarint(out, finalScore);
+        writeVarint(out, flapTicks.length);
+
+        int previous = 0;
+        for (int flapTick : flapTicks) {
+            writeVarint(out, flapTick - previous);
+            previous = flapTick;
+        }
+        return out.toByteArray();
+    }
+
+    public static Replay fromBytes(byte[] data) {
+        Reader in = new Reader(data);
+        for (byte b : MAGIC) {
+            if (in.readByte() != b) {
+                throw new IllegalArgumentException("Not a replay");
+            }
+        }
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported replay version " + version);
+        }
+
+        long seed = 0;
+        for (int i = 0; i < 8; i++) {
+            seed = (seed << 8) | in.readByte();
+        }
+        int tickRate = (int) in.readVarint();
+        int level = (int) in.readVarint();
+        long length = in.readVarint();
+        int finalScore = (int) in.readVarint();
+        int flapCount = (int) in.readVarint();
+        if (flapCount > data.length) {
+            throw new IllegalArgumentException("Corrupt replay: " + flapCount + " flaps");
+        }
+
+        int[] flapTicks = new int[flapCount];
+        int previous = 0;
+        for (int i = 0; i < flapCount; i++) {
+            previous += (int) in.readVarint();
+            flapTicks[i] = previous;
+        }
+        return new Replay(seed, tickRate, level, flapTicks, length, finalScore);
+    }
+
+    public void save(Path file) throws IOException {
+        Files.write(file, toBytes());
+    }
+
+    public static Replay load(Path file) throws IOException {
+        return fromBytes(Files.readAllBytes(file));
+    }
+
+    /**
+     * Whether a finished playback ended exactly like the recording
+     */
+    public boolean matches(long playedLength, int playedScore) {
+        return playedLength == length && playedScore == finalScore;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value in replay: " + value);
+        }
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    // Getters
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Simulation ticks per second the run was recorded at
+     */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getFlapCount() {
+        return flapTicks.length;
+    }
+
+    /**
+     * Run tick of a flap; the flap is applied at the start of step number tick + 1
+     */
+    public int getFlapTick(int index) {
+        return flapTicks[index];
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public int getFinalScore() {
+        return finalScore;
+    }
+
+    @Override
+    public String toString() {
+        return "Replay[seed=" + seed + ", tickRate=" + tickRate + ", level=" + level + ", flaps=" + flapTicks.length
+                + ", ticks=" + length + ", score=" + finalScore + "]";
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int readByte() {
+            if (position >= data.length) {
+                throw new IllegalArgumentException("Truncated replay");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in replay");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package core;
+
+import utils.Constants;
+
+import java.util.Arrays;
+
+/**
+ * Collects the flaps of the current run; {@link #finish} turns them into a
+ * {@link Replay}. Recording a flap only appends to a growable int array.
+ */
+public class ReplayRecorder {
+    private long seed;
+    private int level;
+    private int[] flapTicks = new int[256];
+    private int flapCount;
+
+    public void start(long seed, int level) {
+        this.seed = seed;
+        this.level = level;
+        this.flapCount = 0;
+    }
+
+    /**
+     * @param runTick ticks since the run started when the flap was applied
+     */
+    public void recordFlap(long runTick) {
+        if (flapCount == flapTicks.length) {
+            flapTicks = Arrays.copyOf(flapTicks, flapCount * 2);
+        }
+        flapTicks[flapCount++] = (int) runTick;
+    }
+
+    public Replay finish(long length, int finalScore) {
+        return new Replay(seed, Constants.TICK_RATE, level, Arrays.copyOf(flapTicks, flapCount), length, finalScore);
+    }
+}
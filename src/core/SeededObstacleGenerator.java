@@ -0,0 +1,23 @@
+package core;
+
+import utils.Constants;
+
+import java.util.Random;
+
+/**
+ * Uniformly random gap positions from a seeded {@link Random}
+ */
+public class SeededObstacleGenerator implements ObstacleGenerator {
+    private final Random random = new Random();
+
+    @Override
+    public void reset(long seed) {
+        random.setSeed(seed);
+    }
+
+    @Override
+    public int nextGapY(int gapHeight, int margin) {
+        int range = Math.max(1, Constants.WINDOW_HEIGHT - gapHeight - margin);
+        return margin + random.nextInt(range);
+    }
+}
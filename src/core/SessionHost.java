@@ -0,0 +1,374 @@
+package core;
+
+import utils.Constants;
+import utils.LatencyHistogram;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs many headless {@link Simulation} sessions at once on a few worker
+ * threads, one per core by default, instead of a thread per game.
+ *
+ * Each worker owns a hashed timer wheel: Constants.SESSION_WHEEL_SLOTS
+ * buckets of Constants.SESSION_WHEEL_RESOLUTION_US each, every bucket an
+ * intrusive list of the sessions due in it. The worker wakes once per
+ * bucket, steps the sessions found there and files each one into the bucket
+ * of its next tick, so a wake-up costs the sessions due, not the sessions
+ * hosted. Sessions start at spread-out phases so their ticks do not all land
+ * in one bucket.
+ *
+ * Every session ticks at Constants.TICK_RATE. Sessions can be added and
+ * removed from any thread at any time; the change reaches the worker
+ * through a queue and takes effect before its next bucket. A session that falls behind catches up by at most
+ * Constants.MAX_TICKS_PER_FRAME ticks at once and skips the rest, like the
+ * game loop does. How late each tick starts is recorded per session and per
+ * worker.
+ */
+public class SessionHost {
+    private static final int SLOTS = Constants.SESSION_WHEEL_SLOTS;
+    private static final long RESOLUTION_NANOS = Constants.SESSION_WHEEL_RESOLUTION_US * 1000L;
+    private static final long PERIOD_NANOS = 1_000_000_000L / Constants.TICK_RATE;
+
+    private final Worker[] workers;
+    private final AtomicInteger nextWorker = new AtomicInteger();
+    private final AtomicInteger nextSession = new AtomicInteger();
+    private volatile boolean running;
+
+    public SessionHost() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public SessionHost(int workerCount) {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive: " + workerCount);
+        }
+        if (Integer.bitCount(SLOTS) != 1) {
+            throw new IllegalStateException("SESSION_WHEEL_SLOTS must be a power of two: " + SLOTS);
+        }
+        this.workers = new Worker[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new Worker(i);
+        }
+    }
+
+    public void start() {
+        running = true;
+        for (Worker worker : workers) {
+            worker.thread.start();
+        }
+    }
+
+    /**
+     * Stop every worker; hosted sessions stay as they are
+     */
+    public void stop() {
+        running = false;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker.thread);
+        }
+        for (Worker worker : workers) {
+            try {
+                worker.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Host a simulation, stepped at Constants.TICK_RATE from the next free
+     * moment on
+     *
+     * @param controller decides flaps each tick on the worker thread, may be null
+     */
+    public Session add(Simulation simulation, Controller controller) {
+        Worker worker = workers[Math.floorMod(nextWorker.getAndIncrement(), workers.length)];
+        Session session = new Session(simulation, controller, worker, nextSession.getAndIncrement());
+        worker.sessionCount.incrementAndGet();
+        worker.added.add(session);
+        return session;
+    }
+
+    /**
+     * Stop stepping a session. Does nothing if it was already removed. A tick
+     * the worker has already started still finishes after this returns.
+     */
+    public void remove(Session session) {
+        if (session.active.compareAndSet(true, false)) {
+            session.worker.sessionCount.decrementAndGet();
+            session.worker.removed.add(session);
+        }
+    }
+
+    /**
+     * Decides whether a hosted bird flaps. Runs on the worker thread, where
+     * it may also read or reset the simulation.
+     */
+    public interface Controller {
+        boolean flap(Simulation simulation);
+    }
+
+    // Getters
+    public int getSessionCount() {
+        int count = 0;
+        for (Worker worker : workers) {
+            count += worker.sessionCount.get();
+        }
+        return count;
+    }
+
+    public int getWorkerCount() {
+        return workers.length;
+    }
+
+    /**
+     * How late ticks started on one worker over the last metrics window
+     */
+    public LatencyHistogram.Summary getTickLag(int worker) {
+        return workers[worker].lag.getLastWindow();
+    }
+
+    public long getTicks(int worker) {
+        return workers[worker].ticks;
+    }
+
+    /**
+     * Sessions on one worker that were removed because a tick threw
+     */
+    public long getFailures(int worker) {
+        return workers[worker].failures;
+    }
+
+    private final class Worker implements Runnable {
+        final Thread thread;
+        final Session[] buckets = new Session[SLOTS];
+        final Queue<Session> added = new ConcurrentLinkedQueue<>();
+        final Queue<Session> removed = new ConcurrentLinkedQueue<>();
+        final AtomicInteger sessionCount = new AtomicInteger();
+        final LatencyHistogram lag = new LatencyHistogram(Constants.METRICS_WINDOW_MS * 1_000_000L);
+
+        // Wheel tick c covers [origin + (c - 1) * RESOLUTION, origin + c * RESOLUTION)
+        long origin;
+        long cursor;
+        volatile long ticks;
+        volatile long failures;
+
+        Worker(int index) {
+            this.thread = new Thread(this, "session-worker-" + index);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            origin = System.nanoTime();
+            while (running) {
+                long now = System.nanoTime();
+                applyChanges(now);
+
+                long due = (now - origin) / RESOLUTION_NANOS;
+                while (cursor < due) {
+                    cursor++;
+                    fire(cursor, now);
+                }
+
+                long wake = origin + (cursor + 1) * RESOLUTION_NANOS;
+                LockSupport.parkNanos(wake - System.nanoTime());
+            }
+        }
+
+        private void applyChanges(long now) {
+            Session session;
+            while ((session = removed.poll()) != null) {
+                if (session.bucket >= 0) {
+                    unlink(session);
+                }
+            }
+            while ((session = added.poll()) != null) {
+                if (session.active.get() && session.bucket < 0) {
+                    // Spread first ticks over one period so sessions added together do not tick together
+                    long phase = (session.id * 0x9E3779B97F4A7C15L >>> 1) % PERIOD_NANOS;
+                    session.deadline = now + phase;
+                    schedule(session);
+                }
+            }
+        }
+
+        private void fire(long wheelTick, long now) {
+            int slot = (int) (wheelTick & (SLOTS - 1));
+            Session session = buckets[slot];
+            buckets[slot] = null;
+            while (session != null) {
+                Session next = session.next;
+                session.next = null;
+                session.prev = null;
+                session.bucket = -1;
+                if (!session.active.get()) {
+                    // Removed since it was filed; it just drops off the wheel
+                    session = next;
+                    continue;
+                }
+                if (session.rounds > 0) {
+                    session.rounds--;
+                    link(session, slot);
+                } else if (run(session, now)) {
+                    schedule(session);
+                }
+                session = next;
+            }
+        }
+
+        // Step a due session, catching up on missed ticks within limits; false if it failed
+        private boolean run(Session session, long now) {
+            long late = Math.max(0, now - session.deadline);
+            lag.record(late, now);
+            session.lastLagNanos = late;
+            if (late > session.maxLagNanos) {
+                session.maxLagNanos = late;
+            }
+
+            long due = 1 + late / PERIOD_NANOS;
+            int steps = (int) Math.min(due, Constants.MAX_TICKS_PER_FRAME);
+            session.deadline += due * PERIOD_NANOS;
+            session.skippedTicks += due - steps;
+
+            try {
+                Simulation simulation = session.simulation;
+                for (int i = 0; i < steps; i++) {
+                    boolean flap = session.flapRequested.getAndSet(false);
+                    if (session.controller != null) {
+                        flap |= session.controller.flap(simulation);
+                    }
+                    simulation.step(flap);
+                }
+            } catch (RuntimeException e) {
+                // One broken session must not take the others on this worker down
+                session.failure = e;
+                failures++;
+                if (session.active.compareAndSet(true, false)) {
+                    sessionCount.decrementAndGet();
+                }
+                return false;
+            }
+            session.ticks += steps;
+            ticks += steps;
+            return true;
+        }
+
+        // File a session into the bucket of its deadline, at least the next one
+        private void schedule(Session session) {
+            long wheelTick = Math.ceilDiv(session.deadline - origin, RESOLUTION_NANOS);
+            if (wheelTick <= cursor) {
+                wheelTick = cursor + 1;
+            }
+            session.rounds = (wheelTick - cursor - 1) / SLOTS;
+            link(session, (int) (wheelTick & (SLOTS - 1)));
+        }
+
+        private void link(Session session, int slot) {
+            Session head = buckets[slot];
+            session.next = head;
+            if (head != null) {
+                head.prev = session;
+            }
+            buckets[slot] = session;
+            session.bucket = slot;
+        }
+
+        private void unlink(Session session) {
+            if (session.prev != null) {
+                session.prev.next = session.next;
+            } else {
+                buckets[session.bucket] = session.next;
+            }
+            if (session.next != null) {
+                session.next.prev = session.prev;
+            }
+            session.next = null;
+            session.prev = null;
+            session.bucket = -1;
+        }
+    }
+
+    /**
+     * One hosted simulation. Its simulation belongs to the worker thread
+     * while the host runs; read it from the controller, or after stop().
+     * Lag figures may be read from any thread.
+     */
+    public static final class Session {
+        private final Simulation simulation;
+        private final Controller controller;
+        private final Worker worker;
+        private final int id;
+        private final AtomicBoolean active = new AtomicBoolean(true);
+        private final AtomicBoolean flapRequested = new AtomicBoolean();
+
+        // Wheel bookkeeping, worker thread only
+        private Session next;
+        private Session prev;
+        private int bucket = -1;
+        private long rounds;
+        private long deadline;
+
+        private volatile long ticks;
+        private volatile long skippedTicks;
+        private volatile long lastLagNanos;
+        private volatile long maxLagNanos;
+        private volatile RuntimeException failure;
+
+        private Session(Simulation simulation, Controller controller, Worker worker, int id) {
+            this.simulation = simulation;
+            this.controller = controller;
+            this.worker = worker;
+            this.id = id;
+        }
+
+        /**
+         * Flap on the next tick; callable from any thread
+         */
+        public void requestFlap() {
+            flapRequested.set(true);
+        }
+
+        public Simulation getSimulation() {
+            return simulation;
+        }
+
+        public boolean isActive() {
+            return active.get();
+        }
+
+        public long getTicks() {
+            return ticks;
+        }
+
+        /**
+         * Ticks dropped because the session was too far behind to catch up
+         */
+        public long getSkippedTicks() {
+            return skippedTicks;
+        }
+
+        /**
+         * How late the latest tick started
+         */
+        public long getLastLagNanos() {
+            return lastLagNanos;
+        }
+
+        public long getMaxLagNanos() {
+            return maxLagNanos;
+        }
+
+        /**
+         * What made the session stop, null while it runs or after a plain removal
+         */
+        public RuntimeException getFailure() {
+            return failure;
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package core;
+
+import entity.Bird;
+import utils.CollisionMask;
+import utils.Constants;
+
+import java.util.Random;
+
+/**
+ * Headless game simulation.
+ *
+ * Holds the bird, the obstacles, the score and the level progression and
+ * advances them one step at a time. Nothing in here touches AWT, Swing or
+ * image decoding, so it can be stepped as fast as the CPU allows (bots,
+ * regression runs, display-less servers). {@link GameManager} is the
+ * interactive client that adds input and rendering on top of it.
+ */
+public class Simulation {
+    private Constants.GameState currentState;
+    private Bird bird;
+    private final ObstacleBuffer obstacles;
+    private final LevelManager levelManager;
+
+    // Optional per-pixel collision shapes for the current level
+    private CollisionMask birdMask;
+    private CollisionMask obstacleMask;
+
+    private int score;
+    private int gameSpeed;
+    private boolean gameRunning;
+
+    // Game timing (in ticks of Constants.TICK_RATE, never wall-clock time)
+    private int obstacleSpawnDelay;
+    private long tick;
+    private long runStartTick;
+    private long lastObstacleSpawn;
+
+    // Pixels the world has scrolled, for parallax; never reset so the scenery does not jump
+    private long distance;
+    private long prevDistance;
+
+    // Obstacle layout comes only from the seed, so a run can be replayed exactly
+    private final Random seedSource = new Random();
+    private final ObstacleStream obstacleStream;
+    private long seed;
+
+    public Simulation() {
+        this(new LevelManager());
+    }
+
+    public Simulation(LevelManager levelManager) {
+        this(levelManager, new SeededObstacleGenerator());
+    }
+
+    /**
+     * @param obstacleGenerator where pipe layouts come from
+     */
+    public Simulation(LevelManager levelManager, ObstacleGenerator obstacleGenerator) {
+        this.levelManager = levelManager;
+        this.obstacleStream = new ObstacleStream(obstacleGenerator, levelManager, Constants.OBSTACLE_LOOKAHEAD);
+        this.currentState = Constants.GameState.MAIN_MENU;
+        this.obstacles = new ObstacleBuffer();
+
+        reset();
+    }
+
+    /**
+     * Put the bird back at the start position, clear the field and zero the
+     * score, with a fresh random obstacle layout
+     */
+    public void reset() {
+        reset(seedSource.nextLong());
+    }
+
+    /**
+     * Reset for a run whose obstacle layout is fully determined by seed
+     */
+    public void reset(long seed) {
+        this.seed = seed;
+        obstacleStream.reset(seed);
+        runStartTick = tick;
+
+        bird = createBird();
+
+        obstacles.clear();
+
+        score = 0;
+        applyLevelSettings();
+        gameRunning = false;
+
+        spawnInitialObstacles();
+    }
+
+    public void start() {
+        currentState = Constants.GameState.PLAYING;
+        gameRunning = true;
+    }
+
+    public void returnToMenu() {
+        currentState = Constants.GameState.MAIN_MENU;
+        gameRunning = false;
+    }
+
+    /**
+     * Advance the simulation by one step. Steps taken while the world is
+     * paused (menus, game over) do not count as ticks.
+     *
+     * @param flap whether the bird flaps at the start of this step
+     */
+    public void step(boolean flap) {
+        prevDistance = distance;
+        switch (currentState) {
+            case PLAYING:
+                if (!gameRunning) break;
+
+                tick++;
+                if (flap) {
+                    bird.jump();
+                }
+                updateGameplay();
+                break;
+            case LEVEL_TRANSITION:
+                tick++;
+                handleLevelTransition();
+                break;
+            default:
+                // Menus do not advance the world
+                break;
+        }
+    }
+
+    private void updateGameplay() {
+        if (!gameRunning) return;
+
+        // Update bird physics
+        bird.fall();
+
+        // Update obstacles
+        updateObstacles();
+
+        // Spawn new obstacles
+        if (shouldSpawnObstacle()) {
+            spawnObstacle();
+        }
+
+        // Check collisions
+        if (checkCollisions()) {
+            gameOver();
+            return;
+        }
+
+        // Check level progression
+        if (score >= Constants.SCORE_TO_NEXT_LEVEL * levelManager.getCurrentLevel()) {
+            if (levelManager.canAdvanceLevel()) {
+                currentState = Constants.GameState.LEVEL_TRANSITION;
+            }
+        }
+    }
+
+    private void updateObstacles() {
+        obstacles.move(gameSpeed);
+        distance += gameSpeed;
+
+        // Remove obstacles that are off-screen
+        score += obstacles.cull();
+    }
+
+    private boolean shouldSpawnObstacle() {
+        return tick - lastObstacleSpawn >= obstacleSpawnDelay;
+    }
+
+    private void spawnObstacle() {
+        int level = levelManager.getCurrentLevel();
+        long pair = obstacleStream.next();
+        int gapY = ObstacleStream.gapY(pair);
+        int gapHeight = ObstacleStream.gapHeight(pair);
+
+        // Line up behind the newest pipe so pairs stay evenly spaced off-screen
+        int x = Constants.WINDOW_WIDTH;
+        if (obstacles.size() > 0) {
+            x = Math.max(x, obstacles.getX(obstacles.size() - 1) + gameSpeed * obstacleSpawnDelay);
+        }
+
+        // Top obstacle
+        obstacles.add(
+                x,
+                0,
+                Constants.OBSTACLE_WIDTH,
+                gapY,
+                level
+        );
+
+        // Bottom obstacle
+        obstacles.add(
+                x,
+                gapY + gapHeight,
+                Constants.OBSTACLE_WIDTH,
+                Constants.WINDOW_HEIGHT - (gapY + gapHeight),
+                level
+        );
+
+        lastObstacleSpawn = tick;
+    }
+
+    private void spawnInitialObstacles() {
+        for (int i = 0; i < Constants.OBSTACLE_COUNT; i++) {
+            spawnObstacle();
+        }
+    }
+
+    private boolean checkCollisions() {
+        // Check ground and ceiling collision
+        if (bird.getY() <= 0 || bird.getY() + bird.getHeight() >= Constants.WINDOW_HEIGHT) {
+            return true;
+        }
+
+        // Check obstacle collisions
+        return obstacles.intersects(bird.getX(), bird.getY(), bird.getWidth(), bird.getHeight(),
+                birdMask, obstacleMask);
+    }
+
+    private void gameOver() {
+        currentState = Constants.GameState.GAME_OVER;
+        gameRunning = false;
+    }
+
+    private void handleLevelTransition() {
+        levelManager.advanceLevel();
+        applyLevelSettings();
+
+        // Reset for new level but keep score
+        bird = createBird();
+
+        obstacles.clear();
+        spawnInitialObstacles();
+
+        currentState = Constants.GameState.PLAYING;
+    }
+
+    private Bird createBird() {
+        return new Bird(
+                Constants.BIRD_START_X,
+                Constants.BIRD_START_Y,
+                Constants.BIRD_WIDTH,
+                Constants.BIRD_HEIGHT,
+                levelManager.getCurrentLevel()
+        );
+    }
+
+    private void applyLevelSettings() {
+        int level = levelManager.getCurrentLevel();
+        gameSpeed = levelManager.getGameSpeed(level);
+        obstacleSpawnDelay = Math.max(1, levelManager.getSpawnIntervalMs(level) * Constants.TICK_RATE / 1000);
+    }
+
+    // Getters
+    public Constants.GameState getCurrentState() {
+        return currentState;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getCurrentLevel() {
+        return levelManager.getCurrentLevel();
+    }
+
+    public int getGameSpeed() {
+        return gameSpeed;
+    }
+
+    public boolean isGameRunning() {
+        return gameRunning;
+    }
+
+    /**
+     * Number of ticks the world has advanced since this simulation was created
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Pixels scrolled so far, over every run of this simulation
+     */
+    public long getDistance() {
+        return distance;
+    }
+
+    /**
+     * Distance at the end of the previous step
+     */
+    public long getPrevDistance() {
+        return prevDistance;
+    }
+
+    /**
+     * Ticks since the last reset; the tick the next step will be is getRunTick() + 1
+     */
+    public long getRunTick() {
+        return tick - runStartTick;
+    }
+
+    /**
+     * Seed of the current run's obstacle layout
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getBirdX() {
+        return bird.getX();
+    }
+
+    public int getBirdY() {
+        return bird.getY();
+    }
+
+    public int getBirdWidth() {
+        return bird.getWidth();
+    }
+
+    /**
+     * Bird y before the last step, for render interpolation
+     */
+    public int getBirdPrevY() {
+        return bird.getPrevY();
+    }
+
+    public int getBirdHeight() {
+        return bird.getHeight();
+    }
+
+    public int getBirdYMotion() {
+        return bird.getYMotion();
+    }
+
+    /**
+     * Live obstacles, oldest first (read-only outside the simulation)
+     */
+    public ObstacleBuffer getObstacles() {
+        return obstacles;
+    }
+
+    public LevelManager getLevelManager() {
+        return levelManager;
+    }
+
+    /**
+     * Pipe pairs that will spawn next (read-only outside the simulation)
+     */
+    public ObstacleStream getObstacleStream() {
+        return obstacleStream;
+    }
+
+    // Setters
+    /**
+     * Enable pixel-perfect collision for the current level. A null bird mask
+     * goes back to rectangle tests; a null obstacle mask treats pipes as solid.
+     * The bird mask must match the bird size.
+     */
+    public void setCollisionMasks(CollisionMask birdMask, CollisionMask obstacleMask) {
+        if (birdMask != null
+                && (birdMask.getWidth() != bird.getWidth() || birdMask.getHeight() != bird.getHeight())) {
+            throw new IllegalArgumentException("Bird mask is " + birdMask.getWidth() + "x" + birdMask.getHeight()
+                    + ", bird is " + bird.getWidth() + "x" + bird.getHeight());
+        }
+        this.birdMask = birdMask;
+        this.obstacleMask = obstacleMask;
+    }
+
+    public void setState(Constants.GameState state) {
+        this.currentState = state;
+    }
+}
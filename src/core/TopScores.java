@@ -0,0 +1,132 @@
+package core;
+
+import java.util.Arrays;
+
+/**
+ * The best K scores of one level.
+ *
+ * Kept as a min-heap on score, so the entry to beat is always at the root:
+ * deciding whether a score makes the table is O(1) and adding it O(log K).
+ * The best score is tracked on the side so it is O(1) as well.
+ */
+public class TopScores {
+    private final int[] scores;
+    private final long[] times;
+    private int size;
+    private int best;
+
+    public TopScores(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.scores = new int[capacity];
+        this.times = new long[capacity];
+    }
+
+    /**
+     * Add a score if it makes the table, pushing out the lowest one if full
+     *
+     * @param time when the score was set, in epoch milliseconds
+     * @return whether the score made the table
+     */
+    public boolean offer(int score, long time) {
+        if (size == 0 || score > best) {
+            best = score;
+        }
+        if (size < scores.length) {
+            scores[size] = score;
+            times[size] = time;
+            siftUp(size++);
+            return true;
+        }
+        if (score <= scores[0]) {
+            return false;
+        }
+        scores[0] = score;
+        times[0] = time;
+        siftDown(0);
+        return true;
+    }
+
+    /**
+     * Whether a score would make the table, without adding it
+     */
+    public boolean qualifies(int score) {
+        return size < scores.length || score > scores[0];
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (scores[parent] <= scores[i]) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && scores[left] < scores[smallest]) smallest = left;
+            if (right < size && scores[right] < scores[smallest]) smallest = right;
+            if (smallest == i) return;
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+        long time = times[a];
+        times[a] = times[b];
+        times[b] = time;
+    }
+
+    // Getters
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return scores.length;
+    }
+
+    /**
+     * Highest score in the table, 0 if it is empty
+     */
+    public int getBest() {
+        return size == 0 ? 0 : best;
+    }
+
+    /**
+     * Scores from highest to lowest
+     */
+    public int[] getScores() {
+        int[] sorted = Arrays.copyOf(scores, size);
+        Arrays.sort(sorted);
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            int score = sorted[i];
+            sorted[i] = sorted[j];
+            sorted[j] = score;
+        }
+        return sorted;
+    }
+
+    /**
+     * Score of the entry at heap position i, for writing the table out
+     */
+    int getScore(int i) {
+        return scores[i];
+    }
+
+    /**
+     * Time of the entry at heap position i
+     */
+    long getTime(int i) {
+        return times[i];
+    }
+}
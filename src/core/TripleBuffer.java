@@ -0,0 +1,52 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free hand-off of the latest value from one writer thread to one
+ * reader thread.
+ *
+ * Three recycled slots rotate between the writer (back), the reader (front)
+ * and a shared middle slot. Publishing swaps back and middle, reading swaps
+ * middle and front when something new was published; both are a single
+ * atomic exchange, so neither side ever blocks or sees a half-written slot.
+ */
+public class TripleBuffer<T> {
+    private static final int INDEX_MASK = 0x3;
+    private static final int FRESH = 0x4;
+
+    private final Object[] slots;
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;  // writer thread only
+    private int front = 2; // reader thread only
+
+    public TripleBuffer(T first, T second, T third) {
+        this.slots = new Object[] { first, second, third };
+    }
+
+    /**
+     * Slot the writer may fill; stays private to the writer until {@link #publish()}
+     */
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer() {
+        return (T) slots[back];
+    }
+
+    /**
+     * Hand the filled write buffer to the reader and take a free one back
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Latest complete value; stays valid for the reader until its next call
+     */
+    @SuppressWarnings("unchecked")
+    public T read() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return (T) slots[front];
+    }
+}
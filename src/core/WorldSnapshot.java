@@ -0,0 +1,148 @@
+package core;
+
+import utils.Constants;
+
+/**
+ * Copy of everything the renderer needs from one simulation tick.
+ *
+ * Instances are recycled through a {@link TripleBuffer}: the game thread
+ * fills one with {@link #copyFrom(Simulation)} and publishes it, the render
+ * thread only reads. The obstacle columns grow if needed and are otherwise
+ * reused, so publishing does not allocate.
+ */
+public class WorldSnapshot {
+    private Constants.GameState state = Constants.GameState.MAIN_MENU;
+    private long tick;
+    private int score;
+    private int level = 1;
+    private int gameSpeed;
+    private long distance;
+    private long prevDistance;
+
+    private int birdX;
+    private int birdY;
+    private int birdPrevY;
+    private int birdWidth;
+    private int birdHeight;
+
+    private int obstacleCount;
+    private int[] obstacleX = new int[Constants.OBSTACLE_CAPACITY];
+    private int[] obstaclePrevX = new int[Constants.OBSTACLE_CAPACITY];
+    private int[] obstacleY = new int[Constants.OBSTACLE_CAPACITY];
+    private int[] obstacleWidth = new int[Constants.OBSTACLE_CAPACITY];
+    private int[] obstacleHeight = new int[Constants.OBSTACLE_CAPACITY];
+    private int[] obstacleLevel = new int[Constants.OBSTACLE_CAPACITY];
+
+    void copyFrom(Simulation simulation) {
+        state = simulation.getCurrentState();
+        tick = simulation.getTick();
+        score = simulation.getScore();
+        level = simulation.getCurrentLevel();
+        gameSpeed = simulation.getGameSpeed();
+        distance = simulation.getDistance();
+        prevDistance = simulation.getPrevDistance();
+
+        birdX = simulation.getBirdX();
+        birdY = simulation.getBirdY();
+        birdPrevY = simulation.getBirdPrevY();
+        birdWidth = simulation.getBirdWidth();
+        birdHeight = simulation.getBirdHeight();
+
+        ObstacleBuffer obstacles = simulation.getObstacles();
+        obstacleCount = obstacles.size();
+        if (obstacleCount > obstacleX.length) {
+            int capacity = Integer.highestOneBit(obstacleCount) << 1;
+            obstacleX = new int[capacity];
+            obstaclePrevX = new int[capacity];
+            obstacleY = new int[capacity];
+            obstacleWidth = new int[capacity];
+            obstacleHeight = new int[capacity];
+            obstacleLevel = new int[capacity];
+        }
+        for (int i = 0; i < obstacleCount; i++) {
+            obstacleX[i] = obstacles.getX(i);
+            obstaclePrevX[i] = obstacles.getPrevX(i);
+            obstacleY[i] = obstacles.getY(i);
+            obstacleWidth[i] = obstacles.getWidth(i);
+            obstacleHeight[i] = obstacles.getHeight(i);
+            obstacleLevel[i] = obstacles.getLevel(i);
+        }
+    }
+
+    // Getters
+    public Constants.GameState getState() {
+        return state;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getGameSpeed() {
+        return gameSpeed;
+    }
+
+    public long getDistance() {
+        return distance;
+    }
+
+    public long getPrevDistance() {
+        return prevDistance;
+    }
+
+    public int getBirdX() {
+        return birdX;
+    }
+
+    public int getBirdY() {
+        return birdY;
+    }
+
+    public int getBirdPrevY() {
+        return birdPrevY;
+    }
+
+    public int getBirdWidth() {
+        return birdWidth;
+    }
+
+    public int getBirdHeight() {
+        return birdHeight;
+    }
+
+    public int getObstacleCount() {
+        return obstacleCount;
+    }
+
+    public int getObstacleX(int index) {
+        return obstacleX[index];
+    }
+
+    public int getObstaclePrevX(int index) {
+        return obstaclePrevX[index];
+    }
+
+    public int getObstacleY(int index) {
+        return obstacleY[index];
+    }
+
+    public int getObstacleWidth(int index) {
+        return obstacleWidth[index];
+    }
+
+    public int getObstacleHeight(int index) {
+        return obstacleHeight[index];
+    }
+
+    public int getObstacleLevel(int index) {
+        return obstacleLevel[index];
+    }
+}
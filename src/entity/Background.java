@@ -1,46 +1,64 @@
 package entity;
 
+import utils.AssetsLoader;
+import utils.Constants;
+
 import java.awt.Graphics;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
-import java.io.File;
-import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Level scenery as parallax layers scrolling at fractions of the game speed
+ * (see Constants.PARALLAX_LAYER_SPEEDS). Layers arrive as strips already
+ * scaled and tiled to cover the window, so each one costs at most two blits.
+ */
 public class Background {
-    private BufferedImage image;
-    private int level;
+    private CompletableFuture<BufferedImage[]> layers;
+    private String key;
 
-    public Background(int level){
-        this.level = level;
-        loadbackground(level);
+    /**
+     * @param key background image key from the level pack (asset/background/&lt;key&gt;.png)
+     */
+    public Background(String key){
+        this.key = key;
+        loadbackground(key);
     }
 
-    private void loadbackground(int level){
-        try {
-            switch (level){
-                case 1:
-                    image = ImageIO.read(new File("asset/background/level1.png"));
-                    break;
-                case 2:
-                    image = ImageIO.read(new File("asset/background/level2.png"));
-                    break;
-                case 3:
-                    image = ImageIO.read(new File("asset/background/level2.png"));
-                    break;
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    // Loads in the layers; until they are in, the plain background colour shows
+    private void loadbackground(String key){
+        layers = AssetsLoader.loadBackgroundAsync(key);
     }
 
-    public void draw(Graphics g) {
-        g.drawImage(image,0,0,null);
+    /**
+     * @param distance pixels the world has scrolled; may be fractional when interpolating
+     */
+    public void draw(Graphics g, double distance) {
+        // A load that failed draws like one still in flight instead of throwing every frame
+        BufferedImage[] loaded = layers.isCompletedExceptionally() ? null : layers.getNow(null);
+        if (loaded == null || loaded.length == 0 || loaded[0].getTransparency() != Transparency.OPAQUE) {
+            g.setColor(Constants.BACKGROUND_COLOR);
+            g.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        }
+        if (loaded == null) return;
+
+        for (int i = 0; i < loaded.length; i++) {
+            BufferedImage strip = loaded[i];
+            int width = strip.getWidth();
+            int offset = (int) (distance * Constants.PARALLAX_LAYER_SPEEDS[i] % width);
+
+            // Strips are at least window-wide, so one wrap-around blit always closes the gap
+            g.drawImage(strip, -offset, 0, null);
+            if (width - offset < Constants.WINDOW_WIDTH) {
+                g.drawImage(strip, width - offset, 0, null);
+            }
+        }
     }
 
-    public void setLevel(int newlevel) {
-        if (this.level != newlevel){
-            this.level = newlevel;
-            loadbackground(newlevel);
+    public void setKey(String newKey) {
+        if (!this.key.equals(newKey)){
+            this.key = newKey;
+            loadbackground(newKey);
         }
     }
 }
@@ -1,48 +1,26 @@
 package entity;
 
-import ui.SkinSelector;
-
-import javax.imageio.ImageIO;
-import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.net.URL;
-
 public class Bird {
     private int x,y;
+    private int prevY;
     private int width, height;
     private int yMotion;
-    private BufferedImage image;
     private int level;
 
     public static final int GRAVITY = 2;
     public static final int JUMP_STRENGTH = 10;
+    public static final int TERMINAL_VELOCITY = 15;
 
     public Bird(int x, int y, int width, int height, int level ){
         this.x = x;
         this.y = y;
+        this.prevY = y;
         this.width = width;
         this.height = height;
         this.yMotion = 0;
-        loadImage(level);
+        this.level = level;
     }
 
-    private void loadImage(int level) {
-        String skinPath = SkinSelector.getSkinBirdLevel(level);
-        try {
-            URL imageUrl = getClass().getResource(skinPath);
-            if (imageUrl == null) {
-                System.err.println("Gambar tidak ditemukan: " + skinPath);
-            } else {
-                this.image = ImageIO.read(imageUrl);
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-            System.err.println("Kesalahan saat memuat gambar: " + skinPath);
-        }
-    }
-
-
     public void jump() {
         if (yMotion > 0) {
             yMotion = 0;
@@ -51,20 +29,17 @@ public class Bird {
     }
 
     public void fall() {
-        if (yMotion < 15) {
+        if (yMotion < TERMINAL_VELOCITY) {
             yMotion += GRAVITY;
         }
+        prevY = y;
         y += yMotion;
     }
 
-    public void draw(Graphics g) {
-        if (image != null) {
-            g.drawImage(image, x, y, width, height, null);
-        } else {
-            // jika gambar tidak ada atau erro digantikan dengan merah
-            g.setColor(Color.RED);
-            g.fillRect(x, y, width, height);
-        }
+    public boolean intersects(int ox, int oy, int ow, int oh) {
+        return ow > 0 && oh > 0
+                && x < ox + ow && ox < x + width
+                && y < oy + oh && oy < y + height;
     }
 
     public int getX() {
@@ -75,6 +50,10 @@ public class Bird {
         return y;
     }
 
+    public int getPrevY() {
+        return prevY;
+    }
+
     public int getWidth() {
         return width;
     }
@@ -83,8 +62,21 @@ public class Bird {
         return height;
     }
 
-    public Rectangle getBounds() {
-        return new Rectangle(x, y, width, height);
+    public int getYMotion() {
+        return yMotion;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Snap to a state received from elsewhere (network reconciliation)
+     */
+    public void setState(int y, int yMotion) {
+        this.y = y;
+        this.prevY = y;
+        this.yMotion = yMotion;
     }
 
 }
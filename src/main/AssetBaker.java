@@ -0,0 +1,69 @@
+package main;
+
+import core.LevelPack;
+import ui.SkinSelector;
+import utils.AssetBundle;
+import utils.AssetsLoader;
+import utils.Constants;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Offline step that decodes every game image once and writes them all to
+ * an {@link AssetBundle}, so the game can start without decoding PNGs.
+ * Run it again whenever an image or the level pack changes.
+ *
+ * Usage: AssetBaker [output file, default Constants.ASSET_BUNDLE_PATH]
+ */
+public class AssetBaker {
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        Path output = Paths.get(args.length > 0 ? args[0] : Constants.ASSET_BUNDLE_PATH);
+
+        // Classpath images: menus, legacy per-level art and the skins of every level;
+        // files: every parallax layer of every level's background
+        Set<String> resources = new LinkedHashSet<>(AssetsLoader.getAssetPaths());
+        Set<String> files = new LinkedHashSet<>();
+        LevelPack levelPack = LevelPack.getDefault();
+        for (int level = 1; level <= levelPack.getLevelCount(); level++) {
+            String skin = levelPack.getSkinKey(level);
+            resources.add(SkinSelector.getSkinBird(skin));
+            resources.add(SkinSelector.getSkinObstacle(skin));
+            files.addAll(AssetsLoader.getBackgroundPaths(levelPack.getBackgroundKey(level)));
+        }
+
+        AssetBundle.Builder builder = new AssetBundle.Builder();
+        int baked = 0;
+        for (String path : resources) {
+            URL url = AssetBaker.class.getResource(path);
+            if (bake(builder, path, url != null ? ImageIO.read(url) : null)) baked++;
+        }
+        for (String path : files) {
+            File file = new File(path);
+            if (bake(builder, path, file.isFile() ? ImageIO.read(file) : null)) baked++;
+        }
+
+        if (output.getParent() != null) {
+            output.getParent().toFile().mkdirs();
+        }
+        builder.write(output);
+        System.out.println("Baked " + baked + " images into " + output);
+    }
+
+    private static boolean bake(AssetBundle.Builder builder, String path, BufferedImage image) {
+        if (image == null) {
+            System.err.println("Skipped, not found: " + path);
+            return false;
+        }
+        builder.add(path, image);
+        return true;
+    }
+}
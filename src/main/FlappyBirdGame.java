@@ -1,30 +1,56 @@
 package main;
 
 import core.GameManager;
+import core.WorldSnapshot;
+import ui.BitmapFont;
 import ui.MainMenu;
 import ui.GameOverScreen;
+import utils.AssetsLoader;
 import utils.Constants;
+import utils.LatencyHistogram;
+import utils.PerformanceMonitor;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionListener;
+import java.awt.image.BufferStrategy;
 
 public class FlappyBirdGame extends JPanel implements Runnable, MouseMotionListener {
+    private static final Color TRANSITION_OVERLAY = new Color(0, 0, 0, 150);
+    private static final int LOADING_BAR_WIDTH = 300;
+    private static final int LOADING_BAR_HEIGHT = 16;
+
     private GameManager gameManager;
     private MainMenu mainMenu;
     private GameOverScreen gameOverScreen;
 
     private Thread gameThread;
-    private boolean running;
+    private volatile boolean running;
+
+    // Fraction of a tick elapsed since the last update, used to interpolate rendering
+    private volatile float interpolation;
+
+    private final PerformanceMonitor performanceMonitor =
+            new PerformanceMonitor(Constants.FPS, Constants.METRICS_WINDOW_MS * 1000000L);
 
     // Game window
     private JFrame frame;
 
+    // Active rendering target; null when frames go through repaint()
+    private Canvas canvas;
+    private BufferStrategy bufferStrategy;
+
+    // Text
+    private final BitmapFont transitionShadowFont = BitmapFont.get(new Font("Arial", Font.BOLD, 36), Color.BLACK);
+    private final BitmapFont transitionFont = BitmapFont.get(new Font("Arial", Font.BOLD, 36), Color.YELLOW);
+    private final BitmapFont transitionSubtitleFont = BitmapFont.get(new Font("Arial", Font.PLAIN, 18), Color.WHITE);
+    private final BitmapFont debugFont = BitmapFont.get(new Font("Arial", Font.PLAIN, 12), Color.WHITE);
+
     public FlappyBirdGame() {
         initializeWindow();
         initializeGame();
-        setupInputListeners();
+        setupInputListeners(canvas != null ? canvas : this);
     }
 
     private void initializeWindow() {
@@ -40,6 +66,16 @@ public class FlappyBirdGame extends JPanel implements Runnable, MouseMotionListe
         this.setBackground(Constants.BACKGROUND_COLOR);
         this.setFocusable(true);
 
+        if (Constants.ACTIVE_RENDERING) {
+            // The game loop draws into the canvas itself, Swing stays out of the way
+            canvas = new Canvas();
+            canvas.setPreferredSize(new Dimension(Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT));
+            canvas.setIgnoreRepaint(true);
+            canvas.setFocusable(true);
+            this.setLayout(new BorderLayout());
+            this.add(canvas, BorderLayout.CENTER);
+        }
+
         frame.add(this);
         frame.pack();
 
@@ -58,44 +94,99 @@ public class FlappyBirdGame extends JPanel implements Runnable, MouseMotionListe
         mainMenu = new MainMenu(gameManager);
         gameOverScreen = new GameOverScreen(gameManager);
 
+        performanceMonitor.register();
+        AssetsLoader.getCache().register();
+
         running = true;
     }
 
-    private void setupInputListeners() {
+    private void setupInputListeners(Component target) {
         // Keyboard listener
-        this.addKeyListener(gameManager);
+        target.addKeyListener(gameManager);
 
         // Mouse listeners for UI
-        this.addMouseListener(mainMenu);
-        this.addMouseListener(gameOverScreen);
-        this.addMouseMotionListener(this);
+        target.addMouseListener(mainMenu);
+        target.addMouseListener(gameOverScreen);
+        target.addMouseMotionListener(this);
 
         // Request focus for keyboard input
-        this.requestFocus();
+        target.requestFocus();
+    }
+
+    private void removeInputListeners(Component target) {
+        target.removeKeyListener(gameManager);
+        target.removeMouseListener(mainMenu);
+        target.removeMouseListener(gameOverScreen);
+        target.removeMouseMotionListener(this);
     }
 
     public void startGame() {
         frame.setVisible(true);
 
+        if (canvas != null) {
+            initializeBufferStrategy();
+        }
+
         gameThread = new Thread(this);
         gameThread.start();
     }
 
+    /**
+     * Set up page flipping on the canvas, or fall back to repaint() if the
+     * platform refuses
+     */
+    private void initializeBufferStrategy() {
+        try {
+            canvas.createBufferStrategy(2);
+            bufferStrategy = canvas.getBufferStrategy();
+        } catch (IllegalStateException e) {
+            bufferStrategy = null;
+        }
+
+        if (bufferStrategy == null) {
+            System.err.println("Active rendering not available, using repaint()");
+            removeInputListeners(canvas);
+            this.remove(canvas);
+            canvas = null;
+            frame.validate();
+            setupInputListeners(this);
+        }
+    }
+
     @Override
     public void run() {
         long lastTime = System.nanoTime();
+        long lastRender = lastTime;
+        double nsPerTick = 1000000000.0 / Constants.TICK_RATE;
         double nsPerFrame = 1000000000.0 / Constants.FPS;
-        double delta = 0;
+        double accumulator = 0;
 
         while (running) {
             long currentTime = System.nanoTime();
-            delta += (currentTime - lastTime) / nsPerFrame;
+            accumulator += currentTime - lastTime;
             lastTime = currentTime;
 
-            if (delta >= 1) {
-                update();
-                repaint();
-                delta--;
+            // Fixed timestep: advance the simulation in whole ticks
+            int ticks = 0;
+            while (accumulator >= nsPerTick && ticks < Constants.MAX_TICKS_PER_FRAME) {
+                long updateStart = System.nanoTime();
+                // Input stamped before the end of this tick's slice of real time belongs to it
+                update(currentTime - (long) accumulator + (long) nsPerTick);
+                performanceMonitor.recordUpdate(updateStart, System.nanoTime());
+                accumulator -= nsPerTick;
+                ticks++;
+            }
+
+            // Too far behind, drop the backlog instead of spiralling
+            if (accumulator >= nsPerTick) {
+                performanceMonitor.recordDroppedTicks((long) (accumulator / nsPerTick));
+                accumulator = 0;
+            }
+
+            if (currentTime - lastRender >= nsPerFrame) {
+                interpolation = (float) (accumulator / nsPerTick);
+                present();
+                lastRender = currentTime;
             }
 
             // Small sleep to prevent excessive CPU usage
@@ -108,108 +199,196 @@ public class FlappyBirdGame extends JPanel implements Runnable, MouseMotionListe
         }
     }
 
-    private void update() {
+    private void update(long tickEnd) {
+        Constants.GameState previousState = gameManager.getCurrentState();
+
+        // Always step so the published snapshot follows menu state changes too
+        gameManager.update(tickEnd);
+
         switch (gameManager.getCurrentState()) {
             case MAIN_MENU:
                 mainMenu.update();
                 break;
 
-            case PLAYING:
-            case LEVEL_TRANSITION:
-                gameManager.update();
-                break;
-
             case GAME_OVER:
-                gameOverScreen.update();
+                // Hand the run over once per game over; the screen fades in on its own from there
+                if (previousState != Constants.GameState.GAME_OVER) {
+                    gameOverScreen.show(
+                            gameManager.getScore(),
+                            gameManager.getCurrentLevel(),
+                            gameManager.isNewHighScore()
+                    );
+                }
                 break;
         }
     }
 
+    /**
+     * Deliver a frame: draw and flip directly in active mode, otherwise ask Swing to repaint
+     */
+    private void present() {
+        BufferStrategy strategy = bufferStrategy;
+        if (strategy == null) {
+            repaint();
+            return;
+        }
+
+        long renderStart = System.nanoTime();
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    g2d.setColor(Constants.BACKGROUND_COLOR);
+                    g2d.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+                    renderFrame(g2d);
+                } finally {
+                    g2d.dispose();
+                }
+            } while (strategy.contentsRestored());
+
+            strategy.show();
+        } while (strategy.contentsLost());
+
+        // Push the frame out now instead of whenever the window system flushes
+        Toolkit.getDefaultToolkit().sync();
+        performanceMonitor.recordRender(renderStart, System.nanoTime());
+    }
+
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
 
-        Graphics2D g2d = (Graphics2D) g;
+        if (bufferStrategy == null) {
+            long renderStart = System.nanoTime();
+            renderFrame((Graphics2D) g);
+            performanceMonitor.recordRender(renderStart, System.nanoTime());
+        }
+    }
+
+    private void renderFrame(Graphics2D g2d) {
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-        switch (gameManager.getCurrentState()) {
+        WorldSnapshot world = gameManager.latestSnapshot();
+        switch (world.getState()) {
+            case LOADING:
+                drawLoadingScreen(g2d, gameManager.getLoadingProgress());
+                break;
+
             case MAIN_MENU:
                 mainMenu.render(g2d);
                 break;
 
             case PLAYING:
             case LEVEL_TRANSITION:
-                gameManager.render(g2d);
+                gameManager.render(g2d, world, interpolation);
 
                 // Draw level transition message if needed
-                if (gameManager.getCurrentState() == Constants.GameState.LEVEL_TRANSITION) {
-                    drawLevelTransition(g2d);
+                if (world.getState() == Constants.GameState.LEVEL_TRANSITION) {
+                    drawLevelTransition(g2d, world);
                 }
                 break;
 
             case GAME_OVER:
                 // Draw game state first (paused game)
-                gameManager.render(g2d);
+                gameManager.render(g2d, world, 1.0f);
 
                 // Draw game over screen on top
-                gameOverScreen.show(
-                        gameManager.getScore(),
-                        gameManager.getCurrentLevel(),
-                        false // TODO: Implement high score tracking
-                );
                 gameOverScreen.render(g2d);
                 break;
         }
 
         // Draw FPS counter (debug)
         if (Constants.FPS > 0) { // Only if debugging is enabled
-            drawDebugInfo(g2d);
+            drawDebugInfo(g2d, world);
         }
     }
 
-    private void drawLevelTransition(Graphics2D g2d) {
+    private void drawLoadingScreen(Graphics2D g2d, float progress) {
+        g2d.setColor(Constants.BACKGROUND_COLOR);
+        g2d.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+
+        int textY = Constants.WINDOW_HEIGHT / 2 - 20;
+        transitionShadowFont.drawCentered(g2d, "LOADING", Constants.WINDOW_WIDTH / 2 + 2, textY + 2);
+        transitionFont.drawCentered(g2d, "LOADING", Constants.WINDOW_WIDTH / 2, textY);
+
+        // Progress bar
+        int barX = (Constants.WINDOW_WIDTH - LOADING_BAR_WIDTH) / 2;
+        int barY = textY + 30;
+        g2d.setColor(TRANSITION_OVERLAY);
+        g2d.fillRect(barX, barY, LOADING_BAR_WIDTH, LOADING_BAR_HEIGHT);
+        g2d.setColor(Color.YELLOW);
+        g2d.fillRect(barX, barY, (int) (LOADING_BAR_WIDTH * progress), LOADING_BAR_HEIGHT);
+        g2d.setColor(Color.WHITE);
+        g2d.drawRect(barX, barY, LOADING_BAR_WIDTH, LOADING_BAR_HEIGHT);
+    }
+
+    private void drawLevelTransition(Graphics2D g2d, WorldSnapshot world) {
         // Semi-transparent overlay
-        g2d.setColor(new Color(0, 0, 0, 150));
+        g2d.setColor(TRANSITION_OVERLAY);
         g2d.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
 
         // Level transition text
-        g2d.setFont(new Font("Arial", Font.BOLD, 36));
-        g2d.setColor(Color.WHITE);
-        String levelText = "LEVEL " + gameManager.getCurrentLevel();
-        FontMetrics fm = g2d.getFontMetrics();
-        int textX = (Constants.WINDOW_WIDTH - fm.stringWidth(levelText)) / 2;
+        String levelLabel = "LEVEL ";
+        int level = world.getLevel();
+        int textWidth = transitionFont.stringWidth(levelLabel) + transitionFont.intWidth(level);
+        int textX = (Constants.WINDOW_WIDTH - textWidth) / 2;
         int textY = Constants.WINDOW_HEIGHT / 2;
 
         // Text shadow
-        g2d.setColor(Color.BLACK);
-        g2d.drawString(levelText, textX + 2, textY + 2);
+        int shadowX = transitionShadowFont.drawString(g2d, levelLabel, textX + 2, textY + 2);
+        transitionShadowFont.drawInt(g2d, level, shadowX, textY + 2);
 
         // Main text
-        g2d.setColor(Color.YELLOW);
-        g2d.drawString(levelText, textX, textY);
+        int mainX = transitionFont.drawString(g2d, levelLabel, textX, textY);
+        transitionFont.drawInt(g2d, level, mainX, textY);
 
         // Subtitle
-        g2d.setFont(new Font("Arial", Font.PLAIN, 18));
-        String subtitle = "Get Ready!";
-        fm = g2d.getFontMetrics();
-        int subtitleX = (Constants.WINDOW_WIDTH - fm.stringWidth(subtitle)) / 2;
-        g2d.setColor(Color.WHITE);
-        g2d.drawString(subtitle, subtitleX, textY + 40);
+        transitionSubtitleFont.drawCentered(g2d, "Get Ready!", Constants.WINDOW_WIDTH / 2, textY + 40);
     }
 
-    private void drawDebugInfo(Graphics2D g2d) {
-        g2d.setFont(new Font("Arial", Font.PLAIN, 12));
-        g2d.setColor(Color.WHITE);
-
-        // Calculate FPS (simple approximation)
-        long currentTime = System.currentTimeMillis();
-        String debugInfo = String.format("FPS: %d | State: %s | Score: %d",
-                Constants.FPS,
-                gameManager.getCurrentState(),
-                gameManager.getScore()
-        );
+    private void drawDebugInfo(Graphics2D g2d, WorldSnapshot world) {
+        LatencyHistogram.Summary frames = performanceMonitor.getFrameIntervals();
+        LatencyHistogram.Summary updates = performanceMonitor.getUpdateTimes();
+        LatencyHistogram.Summary renders = performanceMonitor.getRenderTimes();
+        int y = Constants.WINDOW_HEIGHT - 45;
+
+        // Frame rate and frame interval (ms)
+        int x = debugFont.drawString(g2d, "FPS: ", 10, y);
+        x = debugFont.drawInt(g2d, (int) Math.round(frames.getRate()), x, y);
+        x = debugFont.drawString(g2d, " | Frame ms p50/p99/max: ", x, y);
+        x = drawMillis(g2d, frames.getP50(), x, y);
+        x = debugFont.drawString(g2d, "/", x, y);
+        x = drawMillis(g2d, frames.getP99(), x, y);
+        x = debugFont.drawString(g2d, "/", x, y);
+        x = drawMillis(g2d, frames.getMax(), x, y);
+        x = debugFont.drawString(g2d, " | Dropped: ", x, y);
+        debugFont.drawInt(g2d, (int) performanceMonitor.getDroppedFrames(), x, y);
+
+        // Update and render cost (us)
+        y += 15;
+        x = debugFont.drawString(g2d, "Update us p50/p99: ", 10, y);
+        x = debugFont.drawInt(g2d, (int) (updates.getP50() / 1000), x, y);
+        x = debugFont.drawString(g2d, "/", x, y);
+        x = debugFont.drawInt(g2d, (int) (updates.getP99() / 1000), x, y);
+        x = debugFont.drawString(g2d, " | Render us p50/p99: ", x, y);
+        x = debugFont.drawInt(g2d, (int) (renders.getP50() / 1000), x, y);
+        x = debugFont.drawString(g2d, "/", x, y);
+        debugFont.drawInt(g2d, (int) (renders.getP99() / 1000), x, y);
+
+        // Game state
+        y += 15;
+        x = debugFont.drawString(g2d, "State: ", 10, y);
+        x = debugFont.drawString(g2d, world.getState().name(), x, y);
+        x = debugFont.drawString(g2d, " | Score: ", x, y);
+        debugFont.drawInt(g2d, world.getScore(), x, y);
+    }
 
-        g2d.drawString(debugInfo, 10, Constants.WINDOW_HEIGHT - 30);
+    // Milliseconds with one decimal, without building a String
+    private int drawMillis(Graphics2D g2d, long nanos, int x, int y) {
+        long tenths = (nanos + 50000) / 100000;
+        x = debugFont.drawInt(g2d, (int) (tenths / 10), x, y);
+        x = debugFont.drawString(g2d, ".", x, y);
+        return debugFont.drawInt(g2d, (int) (tenths % 10), x, y);
     }
 
     @Override
@@ -245,7 +424,7 @@ public class FlappyBirdGame extends JPanel implements Runnable, MouseMotionListe
     public static void main(String[] args) {
         // Set system look and feel
         try {
-            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeel());
+            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
         } catch (Exception e) {
             System.out.println("Could not set system look and feel");
         }
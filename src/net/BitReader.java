@@ -0,0 +1,59 @@
+package net;
+
+/**
+ * Reads values written by a {@link BitWriter}, most significant bit first
+ */
+public class BitReader {
+    private byte[] buffer;
+    private int limitBits;
+    private int bitPosition;
+
+    /**
+     * Read length bytes of buffer starting at offset
+     */
+    public void reset(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.bitPosition = offset * 8;
+        this.limitBits = (offset + length) * 8;
+    }
+
+    /**
+     * @param bits 0 to 64
+     */
+    public long read(int bits) {
+        if (bitPosition + bits > limitBits) {
+            throw new IllegalArgumentException("Packet truncated");
+        }
+        long value = 0;
+        for (int remaining = bits; remaining > 0; ) {
+            int available = 8 - (bitPosition & 7);
+            int chunk = Math.min(available, remaining);
+            int current = buffer[bitPosition >>> 3] & 0xFF;
+            int part = (current >>> (available - chunk)) & ((1 << chunk) - 1);
+            value = (value << chunk) | part;
+            bitPosition += chunk;
+            remaining -= chunk;
+        }
+        return value;
+    }
+
+    public int readInt(int bits) {
+        return (int) read(bits);
+    }
+
+    public boolean readBoolean() {
+        return read(1) != 0;
+    }
+
+    /**
+     * Read a two's complement value written with {@link BitWriter#writeSigned}
+     */
+    public int readSigned(int bits) {
+        int shift = 32 - bits;
+        return (int) read(bits) << shift >> shift;
+    }
+
+    public int getRemainingBits() {
+        return limitBits - bitPosition;
+    }
+}
@@ -0,0 +1,73 @@
+package net;
+
+/**
+ * Packs values of arbitrary bit width into a byte array, most significant
+ * bit first. Read back with a {@link BitReader} using the same widths.
+ */
+public class BitWriter {
+    private final byte[] buffer;
+    private int bitPosition;
+
+    public BitWriter(int capacityBytes) {
+        this.buffer = new byte[capacityBytes];
+    }
+
+    /**
+     * Start over at the beginning of the buffer
+     */
+    public void clear() {
+        bitPosition = 0;
+    }
+
+    /**
+     * Write the low bits of value
+     *
+     * @param bits 0 to 64
+     */
+    public void write(long value, int bits) {
+        if (bitPosition + bits > buffer.length * 8) {
+            throw new IllegalStateException("Packet full: " + buffer.length + " bytes");
+        }
+        for (int remaining = bits; remaining > 0; ) {
+            int index = bitPosition >>> 3;
+            int free = 8 - (bitPosition & 7);
+            int chunk = Math.min(free, remaining);
+            int shifted = (int) (value >>> (remaining - chunk)) & ((1 << chunk) - 1);
+            if (free == 8) {
+                // First bits of a byte overwrite whatever an earlier packet left there
+                buffer[index] = (byte) (shifted << (free - chunk));
+            } else {
+                buffer[index] |= (byte) (shifted << (free - chunk));
+            }
+            bitPosition += chunk;
+            remaining -= chunk;
+        }
+    }
+
+    public void writeBoolean(boolean value) {
+        write(value ? 1 : 0, 1);
+    }
+
+    /**
+     * Write a signed value in two's complement over bits bits
+     */
+    public void writeSigned(int value, int bits) {
+        write(value & ((1L << bits) - 1), bits);
+    }
+
+    // Getters
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Bytes written so far, the last one possibly partial
+     */
+    public int getLength() {
+        return (bitPosition + 7) >>> 3;
+    }
+
+    public int getBitLength() {
+        return bitPosition;
+    }
+}
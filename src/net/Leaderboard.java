@@ -0,0 +1,140 @@
+package net;
+
+import utils.Constants;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Scores of every player, per level: a {@link RankIndex} over all of them
+ * for ranks, plus the best Constants.LEADERBOARD_TOP_SIZE with player names
+ * for the top list. Safe to use from any number of threads.
+ */
+public class Leaderboard {
+    private final Map<Integer, Level> levels = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Add a score
+     *
+     * @return where it ranks among the level's scores, itself included
+     */
+    public Standing submit(int level, String player, int score) {
+        Level board = level(level);
+        board.ranks.add(score);
+        board.offerTop(new Entry(player, score, sequence.getAndIncrement()));
+        return new Standing(board.ranks.rankOf(score), board.ranks.size());
+    }
+
+    /**
+     * Where a score would rank, without adding it
+     */
+    public Standing getStanding(int level, int score) {
+        Level board = level(level);
+        return new Standing(board.ranks.rankOf(score), board.ranks.size());
+    }
+
+    /**
+     * The best scores of a level, highest first; at most LEADERBOARD_TOP_SIZE
+     */
+    public List<Entry> getTop(int level, int count) {
+        return level(level).top(count);
+    }
+
+    private Level level(int level) {
+        return levels.computeIfAbsent(level, key -> new Level());
+    }
+
+    private static final class Level {
+        final RankIndex ranks = new RankIndex(Constants.LEADERBOARD_SCORE_BUCKETS);
+
+        // Highest score first, earlier submission first among ties.
+        // A lock instead of synchronized so virtual threads waiting here do not pin their carrier.
+        private final TreeSet<Entry> top = new TreeSet<>((a, b) -> a.score != b.score
+                ? Integer.compare(b.score, a.score) : Long.compare(a.sequence, b.sequence));
+        private final ReentrantLock topLock = new ReentrantLock();
+
+        void offerTop(Entry entry) {
+            topLock.lock();
+            try {
+                if (top.size() < Constants.LEADERBOARD_TOP_SIZE) {
+                    top.add(entry);
+                } else if (entry.score > top.last().score) {
+                    top.pollLast();
+                    top.add(entry);
+                }
+            } finally {
+                topLock.unlock();
+            }
+        }
+
+        List<Entry> top(int count) {
+            List<Entry> entries = new ArrayList<>(Math.min(count, Constants.LEADERBOARD_TOP_SIZE));
+            topLock.lock();
+            try {
+                Iterator<Entry> iterator = top.iterator();
+                while (entries.size() < count && iterator.hasNext()) {
+                    entries.add(iterator.next());
+                }
+            } finally {
+                topLock.unlock();
+            }
+            return entries;
+        }
+    }
+
+    /**
+     * One submitted score
+     */
+    public static final class Entry {
+        private final String player;
+        private final int score;
+        private final long sequence;
+
+        Entry(String player, int score, long sequence) {
+            this.player = player;
+            this.score = score;
+            this.sequence = sequence;
+        }
+
+        public String getPlayer() {
+            return player;
+        }
+
+        public int getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * A rank, 1 being the best, out of a number of scores
+     */
+    public static final class Standing {
+        private final long rank;
+        private final long count;
+
+        public Standing(long rank, long count) {
+            this.rank = rank;
+            this.count = count;
+        }
+
+        public long getRank() {
+            return rank;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + rank + " of " + count;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package net;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Talks to a {@link LeaderboardServer}. Every call is asynchronous, so the
+ * game thread can submit a score and carry on; a missing server only makes
+ * the returned future fail.
+ */
+public class LeaderboardClient {
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Duration timeout;
+
+    /**
+     * @param baseUrl e.g. http://127.0.0.1:8765
+     */
+    public LeaderboardClient(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    public CompletableFuture<Leaderboard.Standing> submit(int level, String player, int score) {
+        HttpRequest request = request("/scores?level=" + level + "&player=" + encode(player) + "&score=" + score)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        return send(request).thenApply(LeaderboardClient::parseStanding);
+    }
+
+    public CompletableFuture<Leaderboard.Standing> getStanding(int level, int score) {
+        return send(request("/rank?level=" + level + "&score=" + score).GET().build())
+                .thenApply(LeaderboardClient::parseStanding);
+    }
+
+    public CompletableFuture<List<Leaderboard.Entry>> getTop(int level, int count) {
+        return send(request("/top?level=" + level + "&count=" + count).GET().build()).thenApply(body -> {
+            List<Leaderboard.Entry> entries = new ArrayList<>();
+            for (String line : body.split("\n")) {
+                int tab = line.indexOf('\t');
+                if (tab > 0) {
+                    entries.add(new Leaderboard.Entry(line.substring(tab + 1),
+                            Integer.parseInt(line.substring(0, tab)), entries.size()));
+                }
+            }
+            return entries;
+        });
+    }
+
+    private HttpRequest.Builder request(String pathAndQuery) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery)).timeout(timeout);
+    }
+
+    private CompletableFuture<String> send(HttpRequest request) {
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Leaderboard answered " + response.statusCode() + ": "
+                        + response.body().trim());
+            }
+            return response.body();
+        });
+    }
+
+    private static Leaderboard.Standing parseStanding(String body) {
+        String[] parts = body.trim().split(" ");
+        return new Leaderboard.Standing(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,175 @@
+package net;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import utils.Constants;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Plain-text HTTP front of a {@link Leaderboard}. Every exchange runs on a
+ * virtual thread of its own, so thousands of concurrent clients cost
+ * thousands of small stacks, not thousands of OS threads.
+ *
+ * <pre>
+ * POST /scores?level=L&amp;player=P&amp;score=S   -&gt; "rank count"
+ * GET  /rank?level=L&amp;score=S                -&gt; "rank count"
+ * GET  /top?level=L&amp;count=N                 -&gt; one "score TAB player" line per entry
+ * </pre>
+ * Ranks start at 1. Bad requests get 400, wrong methods 405.
+ *
+ * Usage: LeaderboardServer [port, default Constants.LEADERBOARD_PORT]
+ * Listens on the loopback interface only.
+ */
+public class LeaderboardServer {
+    private static final int MAX_PLAYER_LENGTH = 32;
+
+    private final Leaderboard leaderboard;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * @param port 0 picks a free port, see {@link #getPort()}
+     */
+    public LeaderboardServer(Leaderboard leaderboard, int port) throws IOException {
+        // Small responses otherwise sit out Nagle's delay (~40 ms) on every keep-alive request,
+        // and past 200 idle keep-alive connections the JDK server starts closing them
+        setDefault("sun.net.httpserver.nodelay", "true");
+        setDefault("sun.net.httpserver.maxIdleConnections", String.valueOf(Constants.LEADERBOARD_MAX_CONNECTIONS));
+        this.leaderboard = leaderboard;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                Constants.LEADERBOARD_BACKLOG);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        server.createContext("/scores", exchange -> handle(exchange, "POST", this::submit));
+        server.createContext("/rank", exchange -> handle(exchange, "GET", this::rank));
+        server.createContext("/top", exchange -> handle(exchange, "GET", this::top));
+        server.setExecutor(executor);
+    }
+
+    // Server tuning is read from system properties; explicit -D settings win
+    private static void setDefault(String property, String value) {
+        if (System.getProperty(property) == null) {
+            System.setProperty(property, value);
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stop accepting, give open exchanges up to a second to finish
+     */
+    public void stop() {
+        server.stop(1);
+        executor.close();
+    }
+
+    private String submit(Map<String, String> query) {
+        String player = query.getOrDefault("player", "anonymous").replaceAll("[\\t\\r\\n]", " ");
+        if (player.length() > MAX_PLAYER_LENGTH) {
+            player = player.substring(0, MAX_PLAYER_LENGTH);
+        }
+        Leaderboard.Standing standing = leaderboard.submit(intParam(query, "level"), player,
+                intParam(query, "score"));
+        return standing.getRank() + " " + standing.getCount() + "\n";
+    }
+
+    private String rank(Map<String, String> query) {
+        Leaderboard.Standing standing = leaderboard.getStanding(intParam(query, "level"), intParam(query, "score"));
+        return standing.getRank() + " " + standing.getCount() + "\n";
+    }
+
+    private String top(Map<String, String> query) {
+        StringBuilder body = new StringBuilder();
+        for (Leaderboard.Entry entry : leaderboard.getTop(intParam(query, "level"), intParam(query, "count"))) {
+            body.append(entry.getScore()).append('\t').append(entry.getPlayer()).append('\n');
+        }
+        return body.toString();
+    }
+
+    private interface Query {
+        String answer(Map<String, String> query);
+    }
+
+    private static void handle(HttpExchange exchange, String method, Query query) throws IOException {
+        int status = 200;
+        String body;
+        if (!method.equals(exchange.getRequestMethod())) {
+            status = 405;
+            body = "Use " + method + "\n";
+        } else {
+            try {
+                body = query.answer(parse(exchange.getRequestURI().getRawQuery()));
+            } catch (IllegalArgumentException e) {
+                status = 400;
+                body = e.getMessage() + "\n";
+            }
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parse(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static int intParam(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + name);
+        }
+        try {
+            int number = Integer.parseInt(value);
+            if (number < 0) {
+                throw new IllegalArgumentException("Negative " + name + ": " + value);
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + name + "=" + value);
+        }
+    }
+
+    // Getters
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Constants.LEADERBOARD_PORT;
+        LeaderboardServer server = new LeaderboardServer(new Leaderboard(), port);
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "leaderboard-stop"));
+        System.out.println("Leaderboard listening on 127.0.0.1:" + server.getPort());
+    }
+}
@@ -0,0 +1,117 @@
+package net;
+
+import utils.Constants;
+
+import java.util.Arrays;
+
+/**
+ * The pipe pairs of a race by spawn sequence number. Within a run the world
+ * scrolls at one constant speed, so a pair is fully described by where and
+ * when it spawned plus its gap; its x at any later tick follows from that.
+ * Keeps the most recent Constants.OBSTACLE_CAPACITY pairs.
+ */
+public class PipeLog {
+    private static final int CAPACITY = Constants.OBSTACLE_CAPACITY;
+
+    private final long[] sequence = new long[CAPACITY];
+    private final long[] spawnTick = new long[CAPACITY];
+    private final int[] spawnX = new int[CAPACITY];
+    private final int[] gapY = new int[CAPACITY];
+    private final int[] gapHeight = new int[CAPACITY];
+
+    private int speed;
+    private int level;
+    private long count;
+
+    public PipeLog() {
+        Arrays.fill(sequence, -1);
+    }
+
+    /**
+     * Forget every pair and start a run scrolling at speed
+     */
+    public void reset(int speed, int level) {
+        this.speed = speed;
+        this.level = level;
+        this.count = 0;
+        Arrays.fill(sequence, -1);
+    }
+
+    /**
+     * Record pair number seq; pairs may arrive out of order or twice
+     */
+    void put(long seq, long pairSpawnTick, int pairSpawnX, int pairGapY, int pairGapHeight) {
+        int slot = (int) (seq % CAPACITY);
+        sequence[slot] = seq;
+        spawnTick[slot] = pairSpawnTick;
+        spawnX[slot] = pairSpawnX;
+        gapY[slot] = pairGapY;
+        gapHeight[slot] = pairGapHeight;
+        count = Math.max(count, seq + 1);
+    }
+
+    public boolean contains(long seq) {
+        return seq >= 0 && sequence[(int) (seq % CAPACITY)] == seq;
+    }
+
+    /**
+     * Left edge of pair seq at tick
+     */
+    public int getX(long seq, long tick) {
+        int slot = (int) (seq % CAPACITY);
+        return (int) (spawnX[slot] - speed * (tick - spawnTick[slot]));
+    }
+
+    /**
+     * Whether pair seq is still on or ahead of the screen at tick
+     */
+    public boolean isLive(long seq, long tick) {
+        return contains(seq) && getX(seq, tick) + Constants.OBSTACLE_WIDTH >= 0;
+    }
+
+    /**
+     * Oldest pair still live at tick, or getCount() if none is
+     */
+    public long firstLive(long tick) {
+        long seq = Math.max(0, count - CAPACITY);
+        while (seq < count && !isLive(seq, tick)) {
+            seq++;
+        }
+        return seq;
+    }
+
+    // Getters
+    public long getSpawnTick(long seq) {
+        return spawnTick[(int) (seq % CAPACITY)];
+    }
+
+    public int getSpawnX(long seq) {
+        return spawnX[(int) (seq % CAPACITY)];
+    }
+
+    /**
+     * Height of the top pipe
+     */
+    public int getGapY(long seq) {
+        return gapY[(int) (seq % CAPACITY)];
+    }
+
+    public int getGapHeight(long seq) {
+        return gapHeight[(int) (seq % CAPACITY)];
+    }
+
+    public int getSpeed() {
+        return speed;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * One past the highest sequence number seen
+     */
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,365 @@
+package net;
+
+import entity.Bird;
+import utils.Constants;
+import utils.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.Arrays;
+
+/**
+ * One player of a {@link RaceServer} race.
+ *
+ * The server is authoritative; this client only renders what it is told,
+ * except for its own bird. That one is predicted ahead of the server with
+ * {@link Bird#jump()} / {@link Bird#fall()}, far enough that the flap for a
+ * tick reaches the server before the server steps it. Every snapshot
+ * snaps the bird back to the server's state for that tick and replays the
+ * flaps not yet confirmed, so a misprediction costs one correction instead
+ * of lasting.
+ *
+ * Not thread-safe: call {@link #update(boolean)} once per tick from the
+ * game loop and read state from the same thread.
+ */
+public class RaceClient {
+    private static final int HISTORY = Constants.RACE_HISTORY_TICKS;
+    private static final int JOIN_RETRY_MS = 100;
+    private static final int MAX_LEAD_DRIFT = 4;    // ticks ahead of target before the prediction waits
+
+    private final DatagramChannel channel;
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocate(Constants.RACE_MAX_PACKET);
+    private final BitReader reader = new BitReader();
+    private final BitWriter writer = new BitWriter(Constants.RACE_MAX_PACKET);
+    private final ByteBuffer sendBuffer = ByteBuffer.wrap(writer.getBuffer());
+
+    private int birdId = -1;
+    private long tickNanos = 1_000_000_000L / Constants.TICK_RATE;
+
+    // Server states by tick % HISTORY, kept as delta bases
+    private final RaceState[] received = new RaceState[HISTORY];
+    private final PipeLog pipes = new PipeLog();
+    private RaceState latest;
+    private int run = -1;
+
+    // Own bird, predicted up to predictedTick; flaps and predictions by tick % HISTORY
+    private Bird bird;
+    private long predictedTick;
+    private long firstInputTick;
+    private boolean pendingFlap;
+    private final long[] inputTicks = new long[HISTORY];
+    private final boolean[] inputs = new boolean[HISTORY];
+    private final int[] predictedY = new int[HISTORY];
+    private final int[] predictedMotion = new int[HISTORY];
+
+    private final LatencyHistogram roundTrips = new LatencyHistogram(Constants.METRICS_WINDOW_MS * 1_000_000L);
+    private long smoothedRoundTrip;
+    private long bytesSent;
+    private long bytesReceived;
+    private long snapshots;
+    private long droppedSnapshots;
+    private long corrections;
+
+    public RaceClient(InetSocketAddress server) throws IOException {
+        this.channel = DatagramChannel.open(StandardProtocolFamily.INET);
+        channel.connect(server);
+        channel.configureBlocking(false);
+        for (int i = 0; i < HISTORY; i++) {
+            received[i] = new RaceState(Constants.RACE_MAX_PLAYERS);
+        }
+        Arrays.fill(inputTicks, -1);
+    }
+
+    /**
+     * Ask the server for a bird, retrying until it answers
+     *
+     * @return the bird id of this client
+     * @throws IOException if the server is full or does not answer in time
+     */
+    public int join(long timeoutMs) throws IOException {
+        long deadline = System.nanoTime() + timeoutMs * 1_000_000L;
+        while (birdId < 0) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new IOException("Race server did not answer");
+            }
+            writer.clear();
+            writer.write(RaceProtocol.JOIN, RaceProtocol.TYPE_BITS);
+            writer.write(RaceProtocol.VERSION, 8);
+            send();
+            try {
+                Thread.sleep(JOIN_RETRY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while joining", e);
+            }
+            receive(System.nanoTime());
+        }
+        if (birdId == RaceProtocol.NO_BIRD) {
+            birdId = -1;
+            throw new IOException("Race server is full");
+        }
+        return birdId;
+    }
+
+    /**
+     * One client tick: apply what the server sent, predict the own bird one
+     * tick further with flap, and send the flaps the server has not confirmed
+     */
+    public void update(boolean flap) throws IOException {
+        long now = System.nanoTime();
+        receive(now);
+
+        pendingFlap |= flap;
+        if (bird != null && latest.isAlive(birdId)) {
+            long target = latest.getTick() + getLeadTicks();
+            while (predictedTick < target - 1) {
+                // Fell behind the server: flaps for these ticks would arrive late anyway
+                predict(predictedTick + 1, false);
+            }
+            if (predictedTick <= target + MAX_LEAD_DRIFT) {
+                predict(predictedTick + 1, pendingFlap);
+                pendingFlap = false;
+            }
+        }
+        sendInput(now);
+    }
+
+    public void close() throws IOException {
+        writer.clear();
+        writer.write(RaceProtocol.LEAVE, RaceProtocol.TYPE_BITS);
+        send();
+        channel.close();
+    }
+
+    private void predict(long tick, boolean flap) {
+        int slot = (int) (tick % HISTORY);
+        inputTicks[slot] = tick;
+        inputs[slot] = flap;
+        if (flap) {
+            bird.jump();
+        }
+        bird.fall();
+        predictedY[slot] = bird.getY();
+        predictedMotion[slot] = bird.getYMotion();
+        predictedTick = tick;
+    }
+
+    private void receive(long now) throws IOException {
+        while (true) {
+            receiveBuffer.clear();
+            if (channel.receive(receiveBuffer) == null) return;
+            bytesReceived += receiveBuffer.position();
+            reader.reset(receiveBuffer.array(), 0, receiveBuffer.position());
+            try {
+                int type = reader.readInt(RaceProtocol.TYPE_BITS);
+                if (type == RaceProtocol.WELCOME && birdId < 0) {
+                    birdId = reader.readInt(8);
+                    tickNanos = 1_000_000_000L / reader.readInt(8);
+                } else if (type == RaceProtocol.SNAPSHOT) {
+                    readSnapshot(now);
+                }
+            } catch (IllegalArgumentException e) {
+                droppedSnapshots++;
+            }
+        }
+    }
+
+    private void readSnapshot(long now) {
+        int snapshotRun = reader.readInt(RaceProtocol.RUN_BITS);
+        long tick = reader.read(RaceProtocol.TICK_BITS);
+        boolean hasBase = reader.readBoolean();
+
+        RaceState base = null;
+        int level = 0;
+        int speed = 0;
+        int birdCount;
+        if (hasBase) {
+            long baseTick = tick - reader.read(RaceProtocol.BASE_AGE_BITS);
+            base = received[(int) (baseTick % HISTORY)];
+            if (snapshotRun != run || base.getRun() != run || base.getTick() != baseTick) {
+                // Delta against a state this client no longer has
+                droppedSnapshots++;
+                return;
+            }
+            birdCount = base.getBirdCount();
+        } else {
+            level = reader.readInt(RaceProtocol.LEVEL_BITS);
+            speed = reader.readInt(RaceProtocol.SPEED_BITS);
+            birdCount = reader.readInt(RaceProtocol.BIRD_COUNT_BITS);
+        }
+        if (reader.readBoolean()) {
+            long roundTrip = now - reader.read(64);
+            roundTrips.record(roundTrip, now);
+            smoothedRoundTrip = smoothedRoundTrip == 0 ? roundTrip : (smoothedRoundTrip * 7 + roundTrip) / 8;
+        }
+        boolean newRun = !hasBase && snapshotRun != run;
+        if (!newRun && latest != null && tick <= latest.getTick()) {
+            // Reordered or repeated; only its echo was of use
+            return;
+        }
+
+        if (newRun) {
+            startRun(snapshotRun, speed, level);
+        }
+        RaceState state = received[(int) (tick % HISTORY)];
+        state.setHeader(snapshotRun, tick, birdCount, 0);
+        for (int b = 0; b < birdCount; b++) {
+            RaceProtocol.readBird(reader, state, base, b);
+        }
+        long pipeStart = hasBase ? base.getPipeCount() : reader.read(RaceProtocol.PIPE_SEQUENCE_BITS);
+        int pipeCount = reader.readInt(RaceProtocol.PIPE_COUNT_BITS);
+        for (int i = 0; i < pipeCount; i++) {
+            RaceProtocol.readPipe(reader, pipes, pipeStart + i, tick);
+        }
+        state.setHeader(snapshotRun, tick, birdCount, pipeStart + pipeCount);
+
+        latest = state;
+        snapshots++;
+        reconcile();
+    }
+
+    private void startRun(int newRun, int speed, int level) {
+        run = newRun;
+        latest = null;
+        bird = null;
+        pendingFlap = false;
+        pipes.reset(speed, level);
+        for (RaceState state : received) {
+            state.setHeader(-1, -1, 0, 0);
+        }
+        Arrays.fill(inputTicks, -1);
+    }
+
+    // Snap the own bird to the server's state at the latest tick and replay the unconfirmed flaps
+    private void reconcile() {
+        if (birdId < 0 || birdId >= latest.getBirdCount()) return;
+
+        long tick = latest.getTick();
+        int y = latest.getBirdY(birdId);
+        int motion = latest.getBirdYMotion(birdId);
+        if (bird == null) {
+            bird = new Bird(Constants.BIRD_START_X, y, Constants.BIRD_WIDTH, Constants.BIRD_HEIGHT, pipes.getLevel());
+            predictedTick = tick;
+            firstInputTick = tick + 1;
+        }
+
+        int slot = (int) (tick % HISTORY);
+        if (latest.isAlive(birdId) && inputTicks[slot] == tick && (predictedY[slot] != y || predictedMotion[slot] != motion)) {
+            corrections++;
+        }
+        bird.setState(y, motion);
+        if (predictedTick < tick || !latest.isAlive(birdId)) {
+            predictedTick = tick;
+            return;
+        }
+        for (long t = tick + 1; t <= predictedTick; t++) {
+            int s = (int) (t % HISTORY);
+            if (inputTicks[s] == t && inputs[s]) {
+                bird.jump();
+            }
+            bird.fall();
+            predictedY[s] = bird.getY();
+            predictedMotion[s] = bird.getYMotion();
+        }
+    }
+
+    // Latest flaps, repeated for Constants.RACE_INPUT_REDUNDANCY ticks so a lost packet loses nothing
+    private void sendInput(long now) throws IOException {
+        writer.clear();
+        writer.write(RaceProtocol.INPUT, RaceProtocol.TYPE_BITS);
+        writer.write(Math.max(run, 0), RaceProtocol.RUN_BITS);
+        writer.writeBoolean(latest != null);
+        if (latest != null) {
+            writer.write(latest.getTick(), RaceProtocol.TICK_BITS);
+        }
+        writer.write(now, 64);
+
+        int count = bird == null ? 0 : (int) Math.min(Constants.RACE_INPUT_REDUNDANCY, predictedTick - firstInputTick + 1);
+        count = Math.max(count, 0);
+        writer.write(predictedTick, RaceProtocol.TICK_BITS);
+        writer.write(count, RaceProtocol.INPUT_COUNT_BITS);
+        for (long t = predictedTick - count + 1; t <= predictedTick; t++) {
+            int slot = (int) (t % HISTORY);
+            writer.writeBoolean(inputTicks[slot] == t && inputs[slot]);
+        }
+        send();
+    }
+
+    private void send() throws IOException {
+        sendBuffer.clear().limit(writer.getLength());
+        bytesSent += channel.write(sendBuffer);
+    }
+
+    private long getLeadTicks() {
+        // Half a round trip to reach the server plus a tick of slack
+        return (smoothedRoundTrip / 2 + tickNanos - 1) / tickNanos + 1;
+    }
+
+    // Getters
+    public int getBirdId() {
+        return birdId;
+    }
+
+    /**
+     * Own bird as predicted for getPredictedTick(), null while not racing
+     */
+    public Bird getBird() {
+        return bird;
+    }
+
+    public long getPredictedTick() {
+        return predictedTick;
+    }
+
+    /**
+     * Newest state received from the server, null before the first
+     */
+    public RaceState getLatest() {
+        return latest;
+    }
+
+    /**
+     * Pipe pairs of the current run; place them at getPredictedTick() to line
+     * up with the own bird
+     */
+    public PipeLog getPipes() {
+        return pipes;
+    }
+
+    public LatencyHistogram.Summary getRoundTrips() {
+        return roundTrips.getLastWindow();
+    }
+
+    public long getSmoothedRoundTrip() {
+        return smoothedRoundTrip;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    public long getSnapshots() {
+        return snapshots;
+    }
+
+    /**
+     * Snapshots that could not be used: malformed, or based on a state already gone
+     */
+    public long getDroppedSnapshots() {
+        return droppedSnapshots;
+    }
+
+    /**
+     * Times the server disagreed with the own bird's prediction
+     */
+    public long getCorrections() {
+        return corrections;
+    }
+}
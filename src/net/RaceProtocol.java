@@ -0,0 +1,147 @@
+package net;
+
+import utils.Constants;
+
+/**
+ * Wire format of online races. Every packet is one datagram, bit-packed with
+ * {@link BitWriter}, starting with an 8-bit type.
+ *
+ * <pre>
+ * JOIN     c-&gt;s  version:8
+ * WELCOME  s-&gt;c  bird:8 (NO_BIRD when full), tickRate:8
+ * INPUT    c-&gt;s  run:16, hasAck:1 [ack:32], echo:64, lastTick:32, count:5, flap:1 x count
+ * SNAPSHOT s-&gt;c  run:16, tick:32, hasBase:1
+ *                  base:  baseAge:6
+ *                  full:  level:8, speed:8, birdCount:7
+ *                hasEcho:1 [echo:64]
+ *                bird x birdCount, see {@link #writeBird}
+ *                full: firstPipe:32; pipeCount:6, pipe x pipeCount, see {@link #writePipe}
+ * LEAVE    c-&gt;s
+ * </pre>
+ * A snapshot with a base only carries birds that differ from the base state
+ * the client last acknowledged, and pipe pairs spawned since it. The echo is
+ * the client's own send time from its latest input, returned unchanged so the
+ * client can time the whole round trip.
+ */
+final class RaceProtocol {
+    static final int VERSION = 1;
+
+    static final int JOIN = 1;
+    static final int WELCOME = 2;
+    static final int INPUT = 3;
+    static final int SNAPSHOT = 4;
+    static final int LEAVE = 5;
+
+    static final int NO_BIRD = 0xFF;
+
+    static final int TYPE_BITS = 8;
+    static final int RUN_BITS = 16;
+    static final int TICK_BITS = 32;
+    static final int BASE_AGE_BITS = 6;
+    static final int LEVEL_BITS = 8;
+    static final int SPEED_BITS = 8;
+    static final int BIRD_COUNT_BITS = 7;
+    static final int INPUT_COUNT_BITS = 5;
+    static final int PIPE_SEQUENCE_BITS = 32;
+    static final int PIPE_COUNT_BITS = 6;
+    static final int MAX_PIPES = (1 << PIPE_COUNT_BITS) - 1;
+
+    private static final int Y_DELTA_BITS = 7;
+    private static final int Y_BITS = 11;
+    private static final int MOTION_BITS = 8;
+    private static final int SCORE_BITS = 16;
+    private static final int PIPE_AGE_BITS = 16;
+    private static final int PIPE_X_BITS = 13;
+    private static final int GAP_BITS = 10;
+
+    private RaceProtocol() {}
+
+    static {
+        // Base ages and input ticks are sent modulo these windows
+        if (Constants.RACE_HISTORY_TICKS > 1 << BASE_AGE_BITS
+                || Constants.RACE_INPUT_REDUNDANCY >= 1 << INPUT_COUNT_BITS
+                || Constants.RACE_MAX_PLAYERS >= 1 << BIRD_COUNT_BITS) {
+            throw new ExceptionInInitializerError("Race constants exceed the wire format");
+        }
+    }
+
+    /**
+     * One bird: with a base, a changed flag and nothing more when unchanged.
+     * Then alive:1, y as a 7-bit delta from a living base bird (flag 0) or
+     * 11 bits absolute (flag 1, or no flag without a living base bird), the
+     * vertical motion while alive, and the score (with a base, only when it
+     * changed).
+     */
+    static void writeBird(BitWriter writer, RaceState state, RaceState base, int bird) {
+        if (base != null) {
+            boolean changed = state.differs(base, bird);
+            writer.writeBoolean(changed);
+            if (!changed) return;
+        }
+        boolean alive = state.isAlive(bird);
+        writer.writeBoolean(alive);
+
+        int y = state.getBirdY(bird);
+        if (base != null && base.isAlive(bird)) {
+            int delta = y - base.getBirdY(bird);
+            boolean small = delta >= -(1 << (Y_DELTA_BITS - 1)) && delta < 1 << (Y_DELTA_BITS - 1);
+            writer.writeBoolean(!small);
+            writer.writeSigned(small ? delta : y, small ? Y_DELTA_BITS : Y_BITS);
+        } else {
+            writer.writeSigned(y, Y_BITS);
+        }
+        if (alive) {
+            writer.writeSigned(state.getBirdYMotion(bird), MOTION_BITS);
+        }
+
+        int score = Math.min(state.getScore(bird), (1 << SCORE_BITS) - 1);
+        if (base != null) {
+            boolean scored = score != base.getScore(bird);
+            writer.writeBoolean(scored);
+            if (!scored) return;
+        }
+        writer.write(score, SCORE_BITS);
+    }
+
+    static void readBird(BitReader reader, RaceState into, RaceState base, int bird) {
+        if (base != null && !reader.readBoolean()) {
+            into.setBird(bird, base.isAlive(bird), base.getBirdY(bird), base.getBirdYMotion(bird), base.getScore(bird));
+            return;
+        }
+        boolean alive = reader.readBoolean();
+
+        int y;
+        if (base != null && base.isAlive(bird)) {
+            y = reader.readBoolean() ? reader.readSigned(Y_BITS) : base.getBirdY(bird) + reader.readSigned(Y_DELTA_BITS);
+        } else {
+            y = reader.readSigned(Y_BITS);
+        }
+        int motion = alive ? reader.readSigned(MOTION_BITS) : 0;
+
+        int score;
+        if (base != null && !reader.readBoolean()) {
+            score = base.getScore(bird);
+        } else {
+            score = reader.readInt(SCORE_BITS);
+        }
+        into.setBird(bird, alive, y, motion, score);
+    }
+
+    /**
+     * One pipe pair: ticks since it spawned, its x then, and its gap
+     */
+    static void writePipe(BitWriter writer, PipeLog pipes, long seq, long tick) {
+        writer.write(tick - pipes.getSpawnTick(seq), PIPE_AGE_BITS);
+        writer.write(pipes.getSpawnX(seq), PIPE_X_BITS);
+        writer.write(pipes.getGapY(seq), GAP_BITS);
+        writer.write(pipes.getGapHeight(seq), GAP_BITS);
+    }
+
+    static void readPipe(BitReader reader, PipeLog pipes, long seq, long tick) {
+        long spawnTick = tick - reader.read(PIPE_AGE_BITS);
+        int spawnX = reader.readInt(PIPE_X_BITS);
+        int gapY = reader.readInt(GAP_BITS);
+        int gapHeight = reader.readInt(GAP_BITS);
+        pipes.put(seq, spawnTick, spawnX, gapY, gapHeight);
+    }
+}
@@ -0,0 +1,459 @@
+package net;
+
+import core.BirdWorld;
+import core.LevelManager;
+import core.ObstacleBuffer;
+import utils.Constants;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Authoritative host of online races over UDP. One thread steps a
+ * {@link BirdWorld} at Constants.TICK_RATE with one bird per client and,
+ * every tick, sends each client a {@link RaceProtocol} snapshot delta-encoded
+ * against the last state that client acknowledged: only birds that changed
+ * and pipe pairs spawned since. Clients that have not acknowledged anything
+ * usable get a full snapshot.
+ *
+ * Inputs carry the tick they are meant for and are applied exactly then;
+ * one that arrives after its tick was stepped is applied on the next tick
+ * and counted as late. A run starts once the lobby fills or
+ * Constants.RACE_LOBBY_MS after the first join, and the next one
+ * Constants.RACE_RESTART_MS after the last bird dies.
+ *
+ * Usage: RaceServer [port, default Constants.RACE_PORT]
+ * Listens on the loopback interface only.
+ */
+public class RaceServer {
+    private static final int HISTORY = Constants.RACE_HISTORY_TICKS;
+
+    private final DatagramChannel channel;
+    private final Selector selector;
+    private final BirdWorld world;
+    private final Random seeds;
+    private final long tickNanos;
+
+    private final Player[] players = new Player[Constants.RACE_MAX_PLAYERS];
+    private final Map<SocketAddress, Player> byAddress = new HashMap<>();
+    private final boolean[] flaps = new boolean[Constants.RACE_MAX_PLAYERS];
+
+    private final RaceState[] history = new RaceState[HISTORY];
+    private final PipeLog pipes = new PipeLog();
+
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocate(Constants.RACE_MAX_PACKET);
+    private final BitReader reader = new BitReader();
+    private final BitWriter writer = new BitWriter(Constants.RACE_MAX_PACKET);
+    private final ByteBuffer sendBuffer = ByteBuffer.wrap(writer.getBuffer());
+
+    private Thread thread;
+    private volatile boolean running;
+
+    private int run;
+    private boolean raceStarted;
+    private long lobbyDeadline;
+    private long restartDeadline;
+
+    // Written by the server thread only
+    private volatile int playerCount;
+    private volatile long bytesSent;
+    private volatile long bytesReceived;
+    private volatile long snapshotsSent;
+    private volatile long fullSnapshotsSent;
+    private volatile long lateInputs;
+
+    /**
+     * @param port 0 picks a free port, see {@link #getPort()}
+     */
+    public RaceServer(int port, LevelManager levelManager, long seed) throws IOException {
+        this.world = new BirdWorld(levelManager, Constants.RACE_MAX_PLAYERS);
+        this.seeds = new Random(seed);
+        this.tickNanos = 1_000_000_000L / Constants.TICK_RATE;
+        for (int i = 0; i < HISTORY; i++) {
+            history[i] = new RaceState(Constants.RACE_MAX_PLAYERS);
+        }
+
+        this.channel = DatagramChannel.open(StandardProtocolFamily.INET);
+        channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        channel.configureBlocking(false);
+        this.selector = Selector.open();
+        channel.register(selector, SelectionKey.OP_READ);
+    }
+
+    public void start() {
+        running = true;
+        thread = new Thread(this::loop, "race-server");
+        thread.start();
+    }
+
+    /**
+     * Stop the server thread and close the socket
+     */
+    public void stop() {
+        running = false;
+        selector.wakeup();
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            selector.close();
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Race server close failed: " + e.getMessage());
+        }
+    }
+
+    private void loop() {
+        long nextTick = System.nanoTime();
+        try {
+            while (running) {
+                receive(System.nanoTime());
+                long now = System.nanoTime();
+                if (now >= nextTick) {
+                    tick(now);
+                    nextTick += tickNanos;
+                    if (now - nextTick > tickNanos * Constants.MAX_TICKS_PER_FRAME) {
+                        // Too far behind to catch up, drop the backlog
+                        nextTick = now;
+                    }
+                } else {
+                    // Wakes early when a packet arrives
+                    selector.select(Math.max(1, (nextTick - now) / 1_000_000));
+                    selector.selectedKeys().clear();
+                }
+            }
+        } catch (IOException e) {
+            if (running) {
+                System.err.println("Race server stopped: " + e.getMessage());
+            }
+        }
+    }
+
+    private void receive(long now) throws IOException {
+        while (true) {
+            receiveBuffer.clear();
+            SocketAddress from = channel.receive(receiveBuffer);
+            if (from == null) return;
+            bytesReceived += receiveBuffer.position();
+            reader.reset(receiveBuffer.array(), 0, receiveBuffer.position());
+            try {
+                handle(from, now);
+            } catch (IllegalArgumentException e) {
+                // Malformed or truncated datagram
+            }
+        }
+    }
+
+    private void handle(SocketAddress from, long now) throws IOException {
+        int type = reader.readInt(RaceProtocol.TYPE_BITS);
+        Player player = byAddress.get(from);
+        switch (type) {
+            case RaceProtocol.JOIN -> {
+                if (reader.readInt(8) != RaceProtocol.VERSION) return;
+                if (player == null) {
+                    player = join(from, now);
+                }
+                writer.clear();
+                writer.write(RaceProtocol.WELCOME, RaceProtocol.TYPE_BITS);
+                writer.write(player == null ? RaceProtocol.NO_BIRD : player.id, 8);
+                writer.write(Constants.TICK_RATE, 8);
+                send(from);
+            }
+            case RaceProtocol.INPUT -> {
+                if (player != null) {
+                    player.lastHeard = now;
+                    readInput(player);
+                }
+            }
+            case RaceProtocol.LEAVE -> {
+                if (player != null) {
+                    leave(player);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private Player join(SocketAddress from, long now) {
+        for (int id = 0; id < players.length; id++) {
+            if (players[id] == null) {
+                Player player = new Player(from, id, now);
+                players[id] = player;
+                byAddress.put(from, player);
+                if (playerCount++ == 0 && !raceStarted) {
+                    lobbyDeadline = now + Constants.RACE_LOBBY_MS * 1_000_000L;
+                }
+                return player;
+            }
+        }
+        return null;
+    }
+
+    private void leave(Player player) {
+        players[player.id] = null;
+        byAddress.remove(player.address);
+        playerCount--;
+    }
+
+    private void readInput(Player player) {
+        int inputRun = reader.readInt(RaceProtocol.RUN_BITS);
+        long ack = reader.readBoolean() ? reader.read(RaceProtocol.TICK_BITS) : -1;
+        player.echoNanos = reader.read(64);
+        player.echoPending = true;
+        long lastTick = reader.read(RaceProtocol.TICK_BITS);
+        int count = reader.readInt(RaceProtocol.INPUT_COUNT_BITS);
+
+        if (inputRun != run) return;
+        if (player.ackRun != run || ack > player.ackTick) {
+            player.ackRun = run;
+            player.ackTick = ack;
+        }
+
+        long tick = world.getTick();
+        for (long t = lastTick - count + 1; t <= lastTick; t++) {
+            boolean flap = reader.readBoolean();
+            int slot = (int) (t % HISTORY);
+            if (t <= 0 || t <= tick - HISTORY || t >= tick + HISTORY || player.inputTicks[slot] == t) {
+                continue;
+            }
+            player.inputTicks[slot] = t;
+            player.inputs[slot] = flap;
+            if (t <= tick && flap) {
+                // Its tick is gone; flap as soon as possible rather than never
+                player.lateFlap = true;
+                lateInputs++;
+            }
+        }
+    }
+
+    private void tick(long now) throws IOException {
+        expire(now);
+
+        if (!raceStarted) {
+            if (playerCount > 0 && (playerCount == players.length || now - lobbyDeadline >= 0)) {
+                startRun();
+            }
+        } else if (world.getAliveCount() > 0) {
+            step();
+            if (world.getAliveCount() == 0) {
+                restartDeadline = now + Constants.RACE_RESTART_MS * 1_000_000L;
+            }
+        } else if (playerCount > 0 && now - restartDeadline >= 0) {
+            startRun();
+        }
+
+        if (raceStarted) {
+            broadcast();
+        }
+    }
+
+    private void expire(long now) {
+        long timeout = Constants.RACE_TIMEOUT_MS * 1_000_000L;
+        for (Player player : players) {
+            if (player != null && now - player.lastHeard > timeout) {
+                leave(player);
+            }
+        }
+    }
+
+    private void startRun() {
+        int birdCount = 0;
+        for (int id = 0; id < players.length; id++) {
+            if (players[id] != null) {
+                birdCount = id + 1;
+                players[id].clearInputs();
+            }
+        }
+        run = (run + 1) & ((1 << RaceProtocol.RUN_BITS) - 1);
+        raceStarted = true;
+
+        world.reset(seeds.nextLong(), birdCount);
+        pipes.reset(world.getGameSpeed(), world.getLevelManager().getCurrentLevel());
+        recordTick();
+    }
+
+    private void step() {
+        long tick = world.getTick() + 1;
+        int slot = (int) (tick % HISTORY);
+        for (int id = 0; id < world.getBirdCount(); id++) {
+            Player player = players[id];
+            boolean flap = false;
+            if (player != null) {
+                flap = player.lateFlap || (player.inputTicks[slot] == tick && player.inputs[slot]);
+                player.lateFlap = false;
+            }
+            flaps[id] = flap;
+        }
+        world.step(flaps);
+        recordTick();
+    }
+
+    // Log the pipe pairs spawned by the last step and keep the state as a future delta base
+    private void recordTick() {
+        ObstacleBuffer obstacles = world.getObstacles();
+        long spawned = world.getSpawnedPairs();
+        for (long seq = pipes.getCount(); seq < spawned; seq++) {
+            int top = obstacles.size() - 2 * (int) (spawned - seq);
+            int gapY = obstacles.getHeight(top);
+            pipes.put(seq, world.getTick(), obstacles.getX(top), gapY, obstacles.getY(top + 1) - gapY);
+        }
+        history[(int) (world.getTick() % HISTORY)].copyFrom(world, run, spawned);
+    }
+
+    private void broadcast() throws IOException {
+        RaceState state = history[(int) (world.getTick() % HISTORY)];
+        for (Player player : players) {
+            if (player == null) continue;
+
+            RaceState base = null;
+            if (player.ackRun == run && player.ackTick >= 0 && state.getTick() - player.ackTick < HISTORY) {
+                RaceState candidate = history[(int) (player.ackTick % HISTORY)];
+                if (candidate.getTick() == player.ackTick && candidate.getRun() == run
+                        && state.getPipeCount() - candidate.getPipeCount() <= RaceProtocol.MAX_PIPES) {
+                    base = candidate;
+                }
+            }
+            if (base == state && !player.echoPending) {
+                // The client already has this tick and nothing is waiting to be echoed
+                continue;
+            }
+
+            writeSnapshot(state, base, player);
+            send(player.address);
+            snapshotsSent++;
+            if (base == null) {
+                fullSnapshotsSent++;
+            }
+        }
+    }
+
+    private void writeSnapshot(RaceState state, RaceState base, Player player) {
+        long tick = state.getTick();
+        writer.clear();
+        writer.write(RaceProtocol.SNAPSHOT, RaceProtocol.TYPE_BITS);
+        writer.write(run, RaceProtocol.RUN_BITS);
+        writer.write(tick, RaceProtocol.TICK_BITS);
+        writer.writeBoolean(base != null);
+        if (base != null) {
+            writer.write(tick - base.getTick(), RaceProtocol.BASE_AGE_BITS);
+        } else {
+            writer.write(pipes.getLevel(), RaceProtocol.LEVEL_BITS);
+            writer.write(pipes.getSpeed(), RaceProtocol.SPEED_BITS);
+            writer.write(state.getBirdCount(), RaceProtocol.BIRD_COUNT_BITS);
+        }
+        writer.writeBoolean(player.echoPending);
+        if (player.echoPending) {
+            writer.write(player.echoNanos, 64);
+            player.echoPending = false;
+        }
+
+        for (int bird = 0; bird < state.getBirdCount(); bird++) {
+            RaceProtocol.writeBird(writer, state, base, bird);
+        }
+
+        long first;
+        if (base != null) {
+            first = base.getPipeCount();
+        } else {
+            first = pipes.firstLive(tick);
+            writer.write(first, RaceProtocol.PIPE_SEQUENCE_BITS);
+        }
+        long end = state.getPipeCount();
+        writer.write(end - first, RaceProtocol.PIPE_COUNT_BITS);
+        for (long seq = first; seq < end; seq++) {
+            RaceProtocol.writePipe(writer, pipes, seq, tick);
+        }
+    }
+
+    private void send(SocketAddress to) throws IOException {
+        sendBuffer.clear().limit(writer.getLength());
+        bytesSent += channel.send(sendBuffer, to);
+    }
+
+    private static final class Player {
+        final SocketAddress address;
+        final int id;
+        long lastHeard;
+
+        int ackRun = -1;
+        long ackTick = -1;
+        long echoNanos;
+        boolean echoPending;
+
+        // Flap per future tick, slot tick % HISTORY
+        final long[] inputTicks = new long[HISTORY];
+        final boolean[] inputs = new boolean[HISTORY];
+        boolean lateFlap;
+
+        Player(SocketAddress address, int id, long now) {
+            this.address = address;
+            this.id = id;
+            this.lastHeard = now;
+            clearInputs();
+        }
+
+        void clearInputs() {
+            Arrays.fill(inputTicks, -1);
+            lateFlap = false;
+        }
+    }
+
+    // Getters
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) channel.getLocalAddress()).getPort();
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    public long getSnapshotsSent() {
+        return snapshotsSent;
+    }
+
+    /**
+     * Snapshots sent without a delta base
+     */
+    public long getFullSnapshotsSent() {
+        return fullSnapshotsSent;
+    }
+
+    /**
+     * Flaps that arrived after their tick was stepped
+     */
+    public long getLateInputs() {
+        return lateInputs;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Constants.RACE_PORT;
+        RaceServer server = new RaceServer(port, new LevelManager(), System.nanoTime());
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "race-server-stop"));
+        System.out.println("Race server listening on 127.0.0.1:" + server.getPort());
+    }
+}
@@ -0,0 +1,115 @@
+package net;
+
+import core.BirdWorld;
+
+/**
+ * Every bird of a race at one tick, as sent over the network. Obstacles are
+ * not part of it: they move at a constant speed, so a {@link PipeLog} entry
+ * per pipe pair is enough, and a state only remembers how many pairs had
+ * spawned by its tick.
+ */
+public class RaceState {
+    private int run;
+    private long tick = -1;
+    private int birdCount;
+    private final boolean[] alive;
+    private final int[] y;
+    private final int[] yMotion;
+    private final int[] score;
+    private long pipeCount;
+
+    public RaceState(int capacity) {
+        this.alive = new boolean[capacity];
+        this.y = new int[capacity];
+        this.yMotion = new int[capacity];
+        this.score = new int[capacity];
+    }
+
+    void copyFrom(BirdWorld world, int run, long pipeCount) {
+        this.run = run;
+        this.tick = world.getTick();
+        this.birdCount = world.getBirdCount();
+        this.pipeCount = pipeCount;
+        for (int id = 0; id < birdCount; id++) {
+            alive[id] = world.isAlive(id);
+            y[id] = world.getBirdY(id);
+            yMotion[id] = alive[id] ? world.getBirdYMotion(id) : 0;
+            score[id] = world.getScore(id);
+        }
+    }
+
+    void copyFrom(RaceState other) {
+        this.run = other.run;
+        this.tick = other.tick;
+        this.birdCount = other.birdCount;
+        this.pipeCount = other.pipeCount;
+        System.arraycopy(other.alive, 0, alive, 0, birdCount);
+        System.arraycopy(other.y, 0, y, 0, birdCount);
+        System.arraycopy(other.yMotion, 0, yMotion, 0, birdCount);
+        System.arraycopy(other.score, 0, score, 0, birdCount);
+    }
+
+    /**
+     * Whether bird differs between this state and base
+     */
+    boolean differs(RaceState base, int bird) {
+        return alive[bird] != base.alive[bird] || y[bird] != base.y[bird]
+                || yMotion[bird] != base.yMotion[bird] || score[bird] != base.score[bird];
+    }
+
+    void setBird(int bird, boolean isAlive, int birdY, int birdYMotion, int birdScore) {
+        alive[bird] = isAlive;
+        y[bird] = birdY;
+        yMotion[bird] = birdYMotion;
+        score[bird] = birdScore;
+    }
+
+    void setHeader(int run, long tick, int birdCount, long pipeCount) {
+        if (birdCount > alive.length) {
+            throw new IllegalArgumentException("Bird count " + birdCount + " over capacity " + alive.length);
+        }
+        this.run = run;
+        this.tick = tick;
+        this.birdCount = birdCount;
+        this.pipeCount = pipeCount;
+    }
+
+    // Getters
+    public int getRun() {
+        return run;
+    }
+
+    /**
+     * Tick of this state, -1 while it holds none
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    public int getBirdCount() {
+        return birdCount;
+    }
+
+    public boolean isAlive(int bird) {
+        return alive[bird];
+    }
+
+    public int getBirdY(int bird) {
+        return y[bird];
+    }
+
+    public int getBirdYMotion(int bird) {
+        return yMotion[bird];
+    }
+
+    public int getScore(int bird) {
+        return score[bird];
+    }
+
+    /**
+     * Pipe pairs spawned in this run up to this tick
+     */
+    public long getPipeCount() {
+        return pipeCount;
+    }
+}
@@ -0,0 +1,64 @@
+package net;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts of scores by value, kept in a Fenwick tree so the rank of any score
+ * is two O(log buckets) prefix sums instead of a sort.
+ *
+ * Every score value below the bucket count has a bucket of its own; higher
+ * scores share the last bucket and rank as ties. Nodes are atomic, so adds
+ * and rank queries from any number of threads never lock. A rank read while
+ * other threads add may or may not include their scores.
+ */
+public class RankIndex {
+    private final AtomicLongArray tree;
+    private final int buckets;
+
+    public RankIndex(int buckets) {
+        if (buckets < 1) {
+            throw new IllegalArgumentException("Need at least one bucket: " + buckets);
+        }
+        this.buckets = buckets;
+        this.tree = new AtomicLongArray(buckets + 1);
+    }
+
+    public void add(int score) {
+        for (int i = bucketOf(score) + 1; i <= buckets; i += i & -i) {
+            tree.getAndIncrement(i);
+        }
+    }
+
+    /**
+     * Scores in buckets 0..bucket
+     */
+    private long prefix(int bucket) {
+        long sum = 0;
+        for (int i = bucket + 1; i > 0; i -= i & -i) {
+            sum += tree.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Number of scores strictly higher than score
+     */
+    public long countAbove(int score) {
+        return Math.max(0, prefix(buckets - 1) - prefix(bucketOf(score)));
+    }
+
+    /**
+     * Rank score has or would have, 1 being the best
+     */
+    public long rankOf(int score) {
+        return countAbove(score) + 1;
+    }
+
+    public long size() {
+        return prefix(buckets - 1);
+    }
+
+    private int bucketOf(int score) {
+        return Math.max(0, Math.min(buckets - 1, score));
+    }
+}
@@ -0,0 +1,174 @@
+package ui;
+
+import utils.SpriteRegistry;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Text drawn from a pre-rendered glyph atlas.
+ *
+ * Each font, size and colour is rasterized once (printable ASCII) into a
+ * single image; drawing text is then one blit per character, with no
+ * {@link FontMetrics} layout and no string building. Numbers are drawn
+ * straight from an int so HUD counters never allocate.
+ */
+public class BitmapFont {
+    private static final char FIRST_CHAR = ' ';
+    private static final char LAST_CHAR = '~';
+    private static final int PADDING = 2; // room for glyphs that overhang their advance
+
+    private static final Map<String, BitmapFont> cache = new HashMap<>();
+
+    private final BufferedImage atlas;
+    private final int[] glyphX;
+    private final int[] advance;
+    private final int ascent;
+    private final int cellHeight;
+
+    // Scratch space for drawInt, render thread only
+    private final char[] digits = new char[11];
+
+    /**
+     * Shared atlas for a font and colour, rasterized on first use
+     */
+    public static synchronized BitmapFont get(Font font, Color color) {
+        String key = font.getFontName() + '/' + font.getStyle() + '/' + font.getSize()
+                + '/' + Integer.toHexString(color.getRGB());
+        return cache.computeIfAbsent(key, k -> new BitmapFont(font, color));
+    }
+
+    private BitmapFont(Font font, Color color) {
+        int glyphCount = LAST_CHAR - FIRST_CHAR + 1;
+        glyphX = new int[glyphCount];
+        advance = new int[glyphCount];
+
+        // Measure
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D measure = scratch.createGraphics();
+        FontMetrics fm = measure.getFontMetrics(font);
+        ascent = fm.getAscent();
+        cellHeight = fm.getAscent() + fm.getDescent() + PADDING * 2;
+
+        int cursor = 0;
+        for (int i = 0; i < glyphCount; i++) {
+            glyphX[i] = cursor;
+            advance[i] = fm.charWidth((char) (FIRST_CHAR + i));
+            cursor += advance[i] + PADDING * 2;
+        }
+        measure.dispose();
+
+        // Rasterize
+        BufferedImage glyphs = new BufferedImage(Math.max(1, cursor), cellHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = glyphs.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_OFF);
+        g2d.setFont(font);
+        g2d.setColor(color);
+        char[] glyph = new char[1];
+        for (int i = 0; i < glyphCount; i++) {
+            glyph[0] = (char) (FIRST_CHAR + i);
+            g2d.drawChars(glyph, 0, 1, glyphX[i] + PADDING, PADDING + ascent);
+        }
+        g2d.dispose();
+
+        atlas = SpriteRegistry.toCompatibleImage(glyphs, 0, 0);
+    }
+
+    /**
+     * Draw text with its baseline at y, like {@link Graphics#drawString}
+     *
+     * @return the x position just after the text, for chaining
+     */
+    public int drawString(Graphics g, String text, int x, int y) {
+        int pen = x;
+        for (int i = 0; i < text.length(); i++) {
+            pen = drawChar(g, text.charAt(i), pen, y);
+        }
+        return pen;
+    }
+
+    /**
+     * Draw a number without turning it into a String
+     *
+     * @return the x position just after the number, for chaining
+     */
+    public int drawInt(Graphics g, int value, int x, int y) {
+        int start = formatInt(value);
+        int pen = x;
+        for (int i = start; i < digits.length; i++) {
+            pen = drawChar(g, digits[i], pen, y);
+        }
+        return pen;
+    }
+
+    /**
+     * Draw text horizontally centred on centerX
+     */
+    public void drawCentered(Graphics g, String text, int centerX, int y) {
+        drawString(g, text, centerX - stringWidth(text) / 2, y);
+    }
+
+    private int drawChar(Graphics g, char c, int pen, int y) {
+        int index = indexOf(c);
+        if (c != ' ') {
+            int sx = glyphX[index];
+            int width = advance[index] + PADDING * 2;
+            int dx = pen - PADDING;
+            int dy = y - ascent - PADDING;
+            g.drawImage(atlas,
+                    dx, dy, dx + width, dy + cellHeight,
+                    sx, 0, sx + width, cellHeight,
+                    null);
+        }
+        return pen + advance[index];
+    }
+
+    public int stringWidth(String text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            width += advance[indexOf(text.charAt(i))];
+        }
+        return width;
+    }
+
+    public int intWidth(int value) {
+        int width = 0;
+        for (int i = formatInt(value); i < digits.length; i++) {
+            width += advance[indexOf(digits[i])];
+        }
+        return width;
+    }
+
+    public int getAscent() {
+        return ascent;
+    }
+
+    /**
+     * Write value right-aligned into digits
+     *
+     * @return index of the first character
+     */
+    private int formatInt(int value) {
+        long remaining = Math.abs((long) value);
+        int position = digits.length;
+        do {
+            digits[--position] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining > 0 && position > 1);
+        if (value < 0) {
+            digits[--position] = '-';
+        }
+        return position;
+    }
+
+    // Characters outside the atlas are drawn as blanks
+    private static int indexOf(char c) {
+        if (c < FIRST_CHAR || c > LAST_CHAR) {
+            return 0;
+        }
+        return c - FIRST_CHAR;
+    }
+}
@@ -10,6 +10,13 @@ import java.awt.event.MouseListener;
 import java.awt.image.BufferedImage;
 
 public class GameOverScreen implements MouseListener {
+    private static final String[] INSTRUCTIONS = {
+            "Press R to restart",
+            "Press M for main menu",
+            "Press P to watch the replay",
+            "Click buttons to navigate"
+    };
+
     private GameManager gameManager;
     private BufferedImage backgroundImage;
 
@@ -20,16 +27,24 @@ public class GameOverScreen implements MouseListener {
     private Rectangle gameOverArea;
     private Rectangle scoreArea;
 
-    // Animation variables
-    private float alpha = 0.0f;
-    private boolean animationComplete = false;
-    private long animationStartTime;
+    // Run being shown. Replaced as a whole by show() on the game thread, so a
+    // render or mouse event on the EDT never sees half of one run and half of
+    // another; the fade-in is derived from its timestamp instead of stepped.
+    private volatile Result result = new Result(0, 1, false, 0);
 
     // UI State
     private Rectangle hoveredButton;
-    private int finalScore;
-    private int currentLevel;
-    private boolean newHighScore;
+
+    // Text
+    private final BitmapFont titleShadowFont = BitmapFont.get(new Font("Arial", Font.BOLD, 48), Color.BLACK);
+    private final BitmapFont titleFont = BitmapFont.get(new Font("Arial", Font.BOLD, 48), Color.RED);
+    private final BitmapFont scoreFont = BitmapFont.get(new Font("Arial", Font.BOLD, 24), Color.WHITE);
+    private final BitmapFont levelFont = BitmapFont.get(new Font("Arial", Font.PLAIN, 18), Color.WHITE);
+    private final BitmapFont highScoreFont = BitmapFont.get(new Font("Arial", Font.BOLD, 20), Color.YELLOW);
+    private final BitmapFont buttonShadowFont = BitmapFont.get(new Font("Arial", Font.BOLD, 16), Color.BLACK);
+    private final BitmapFont buttonFont = BitmapFont.get(new Font("Arial", Font.BOLD, 16), Color.WHITE);
+    private final BitmapFont instructionFont =
+            BitmapFont.get(new Font("Arial", Font.PLAIN, 14), new Color(255, 255, 255, 200));
 
     public GameOverScreen(GameManager gameManager) {
         this.gameManager = gameManager;
@@ -78,29 +93,18 @@ public class GameOverScreen implements MouseListener {
         backgroundImage = AssetsLoader.getUIImage("game_over_bg");
     }
 
+    /**
+     * Start showing a finished run; safe to call from any thread
+     */
     public void show(int score, int level, boolean isNewHighScore) {
-        this.finalScore = score;
-        this.currentLevel = level;
-        this.newHighScore = isNewHighScore;
-        this.alpha = 0.0f;
-        this.animationComplete = false;
-        this.animationStartTime = System.currentTimeMillis();
-    }
-
-    public void update() {
-        // Fade in animation
-        if (!animationComplete) {
-            long elapsed = System.currentTimeMillis() - animationStartTime;
-            alpha = Math.min(1.0f, elapsed / 1000.0f); // 1 second fade in
-
-            if (alpha >= 1.0f) {
-                animationComplete = true;
-            }
-        }
+        result = new Result(score, level, isNewHighScore, System.currentTimeMillis());
     }
 
     public void render(Graphics g) {
         Graphics2D g2d = (Graphics2D) g;
+        Result shown = result;
+        float alpha = shown.getAlpha();
+        boolean animationComplete = alpha >= 1.0f;
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
         // Set alpha for fade in effect
@@ -110,13 +114,13 @@ public class GameOverScreen implements MouseListener {
         drawOverlay(g2d);
 
         // Draw background
-        drawBackground(g2d);
+        drawBackground(g2d, alpha);
 
         // Draw game over text
         drawGameOverText(g2d);
 
         // Draw score information
-        drawScoreInfo(g2d);
+        drawScoreInfo(g2d, shown);
 
         // Draw buttons (only if animation is complete)
         if (animationComplete) {
@@ -126,7 +130,9 @@ public class GameOverScreen implements MouseListener {
         }
 
         // Draw instructions
-        drawInstructions(g2d);
+        if (animationComplete) {
+            drawInstructions(g2d);
+        }
 
         // Reset alpha
         g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
@@ -138,7 +144,11 @@ public class GameOverScreen implements MouseListener {
         g2d.fillRect(0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
     }
 
-    private void drawBackground(Graphics2D g2d) {
+    private void drawBackground(Graphics2D g2d, float alpha) {
+        if (backgroundImage == null) {
+            // May still have been loading when this screen was created
+            loadAssets();
+        }
         if (backgroundImage != null) {
             // Draw background image with some transparency
             g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.3f * alpha));
@@ -151,46 +161,38 @@ public class GameOverScreen implements MouseListener {
 
     private void drawGameOverText(Graphics2D g2d) {
         // "GAME OVER" text with shadow
-        g2d.setFont(new Font("Arial", Font.BOLD, 48));
-        FontMetrics fm = g2d.getFontMetrics();
         String gameOverText = "GAME OVER";
-        int textX = (Constants.WINDOW_WIDTH - fm.stringWidth(gameOverText)) / 2;
+        int textX = (Constants.WINDOW_WIDTH - titleFont.stringWidth(gameOverText)) / 2;
         int textY = gameOverArea.y + 50;
 
         // Shadow
-        g2d.setColor(Color.BLACK);
-        g2d.drawString(gameOverText, textX + 3, textY + 3);
+        titleShadowFont.drawString(g2d, gameOverText, textX + 3, textY + 3);
 
         // Main text
-        g2d.setColor(Color.RED);
-        g2d.drawString(gameOverText, textX, textY);
+        titleFont.drawString(g2d, gameOverText, textX, textY);
     }
 
-    private void drawScoreInfo(Graphics2D g2d) {
-        g2d.setFont(new Font("Arial", Font.BOLD, 24));
-        g2d.setColor(Color.WHITE);
+    private void drawScoreInfo(Graphics2D g2d, Result shown) {
+        int finalScore = shown.score;
+        int currentLevel = shown.level;
 
         // Final Score
-        String scoreText = "Final Score: " + finalScore;
-        FontMetrics fm = g2d.getFontMetrics();
-        int scoreX = (Constants.WINDOW_WIDTH - fm.stringWidth(scoreText)) / 2;
-        g2d.drawString(scoreText, scoreX, scoreArea.y + 30);
+        String scoreLabel = "Final Score: ";
+        int scoreWidth = scoreFont.stringWidth(scoreLabel) + scoreFont.intWidth(finalScore);
+        int scoreX = (Constants.WINDOW_WIDTH - scoreWidth) / 2;
+        scoreX = scoreFont.drawString(g2d, scoreLabel, scoreX, scoreArea.y + 30);
+        scoreFont.drawInt(g2d, finalScore, scoreX, scoreArea.y + 30);
 
         // Level reached
-        g2d.setFont(new Font("Arial", Font.PLAIN, 18));
-        String levelText = "Level Reached: " + currentLevel;
-        fm = g2d.getFontMetrics();
-        int levelX = (Constants.WINDOW_WIDTH - fm.stringWidth(levelText)) / 2;
-        g2d.drawString(levelText, levelX, scoreArea.y + 55);
+        String levelLabel = "Level Reached: ";
+        int levelWidth = levelFont.stringWidth(levelLabel) + levelFont.intWidth(currentLevel);
+        int levelX = (Constants.WINDOW_WIDTH - levelWidth) / 2;
+        levelX = levelFont.drawString(g2d, levelLabel, levelX, scoreArea.y + 55);
+        levelFont.drawInt(g2d, currentLevel, levelX, scoreArea.y + 55);
 
         // New high score indicator
-        if (newHighScore) {
-            g2d.setFont(new Font("Arial", Font.BOLD, 20));
-            g2d.setColor(Color.YELLOW);
-            String highScoreText = "NEW HIGH SCORE!";
-            fm = g2d.getFontMetrics();
-            int highScoreX = (Constants.WINDOW_WIDTH - fm.stringWidth(highScoreText)) / 2;
-            g2d.drawString(highScoreText, highScoreX, scoreArea.y + 85);
+        if (shown.newHighScore) {
+            highScoreFont.drawCentered(g2d, "NEW HIGH SCORE!", Constants.WINDOW_WIDTH / 2, scoreArea.y + 85);
         }
     }
 
@@ -209,51 +211,34 @@ public class GameOverScreen implements MouseListener {
         g2d.drawRoundRect(button.x, button.y, button.width, button.height, 15, 15);
 
         // Button text
-        g2d.setFont(new Font("Arial", Font.BOLD, 16));
-        FontMetrics fm = g2d.getFontMetrics();
-        int textX = button.x + (button.width - fm.stringWidth(text)) / 2;
-        int textY = button.y + (button.height + fm.getAscent()) / 2;
+        int textX = button.x + (button.width - buttonFont.stringWidth(text)) / 2;
+        int textY = button.y + (button.height + buttonFont.getAscent()) / 2;
 
         // Text shadow
-        g2d.setColor(Color.BLACK);
-        g2d.drawString(text, textX + 1, textY + 1);
+        buttonShadowFont.drawString(g2d, text, textX + 1, textY + 1);
 
         // Text
-        g2d.setColor(Color.WHITE);
-        g2d.drawString(text, textX, textY);
+        buttonFont.drawString(g2d, text, textX, textY);
     }
 
     private void drawInstructions(Graphics2D g2d) {
-        if (animationComplete) {
-            g2d.setFont(new Font("Arial", Font.PLAIN, 14));
-            g2d.setColor(new Color(255, 255, 255, 200));
-
-            String[] instructions = {
-                    "Press R to restart",
-                    "Press M for main menu",
-                    "Click buttons to navigate"
-            };
-
-            int startY = Constants.WINDOW_HEIGHT - 80;
-            FontMetrics fm = g2d.getFontMetrics();
-
-            for (int i = 0; i < instructions.length; i++) {
-                int textX = (Constants.WINDOW_WIDTH - fm.stringWidth(instructions[i])) / 2;
-                g2d.drawString(instructions[i], textX, startY + i * 20);
-            }
+        int startY = Constants.WINDOW_HEIGHT - 100;
+
+        for (int i = 0; i < INSTRUCTIONS.length; i++) {
+            int textX = (Constants.WINDOW_WIDTH - instructionFont.stringWidth(INSTRUCTIONS[i])) / 2;
+            instructionFont.drawString(g2d, INSTRUCTIONS[i], textX, startY + i * 20);
         }
     }
 
     // Mouse event handlers
     @Override
     public void mouseClicked(MouseEvent e) {
-        if (!animationComplete) return;
+        if (!isAnimationComplete()) return;
 
         Point clickPoint = e.getPoint();
 
         if (restartButton.contains(clickPoint)) {
-            gameManager.setState(Constants.GameState.PLAYING);
-            // Reset and restart game will be handled by GameManager
+            gameManager.requestRestart();
         } else if (menuButton.contains(clickPoint)) {
             gameManager.setState(Constants.GameState.MAIN_MENU);
         } else if (exitButton.contains(clickPoint)) {
@@ -282,7 +267,7 @@ public class GameOverScreen implements MouseListener {
     }
 
     public void mouseMoved(MouseEvent e) {
-        if (!animationComplete) return;
+        if (!isAnimationComplete()) return;
 
         Point mousePoint = e.getPoint();
         hoveredButton = null;
@@ -298,10 +283,29 @@ public class GameOverScreen implements MouseListener {
 
     // Getters
     public boolean isAnimationComplete() {
-        return animationComplete;
+        return getAlpha() >= 1.0f;
     }
 
     public float getAlpha() {
-        return alpha;
+        return result.getAlpha();
+    }
+
+    private static final class Result {
+        final int score;
+        final int level;
+        final boolean newHighScore;
+        final long shownAt;
+
+        Result(int score, int level, boolean newHighScore, long shownAt) {
+            this.score = score;
+            this.level = level;
+            this.newHighScore = newHighScore;
+            this.shownAt = shownAt;
+        }
+
+        // 1 second fade in
+        float getAlpha() {
+            return Math.min(1.0f, (System.currentTimeMillis() - shownAt) / 1000.0f);
+        }
     }
 }
\ No newline at end of file
@@ -10,6 +10,12 @@ import java.awt.event.MouseListener;
 import java.awt.image.BufferedImage;
 
 public class MainMenu implements MouseListener {
+    private static final String[] INSTRUCTIONS = {
+            "Press SPACE or ENTER to start",
+            "Press SPACE to flap, ESC for the menu"
+    };
+    private static final String VERSION = "v1.0";
+
     private GameManager gameManager;
     private BufferedImage backgroundImage;
 
@@ -23,6 +29,17 @@ public class MainMenu implements MouseListener {
     private boolean mousePressed;
     private Rectangle hoveredButton;
 
+    // Text
+    private final BitmapFont titleShadowFont = BitmapFont.get(new Font("Arial", Font.BOLD, 48), Color.BLACK);
+    private final BitmapFont titleFont = BitmapFont.get(new Font("Arial", Font.BOLD, 48), Color.WHITE);
+    private final BitmapFont subtitleFont = BitmapFont.get(new Font("Arial", Font.PLAIN, 18), Color.YELLOW);
+    private final BitmapFont buttonShadowFont = BitmapFont.get(new Font("Arial", Font.BOLD, 16), Color.BLACK);
+    private final BitmapFont buttonFont = BitmapFont.get(new Font("Arial", Font.BOLD, 16), Color.WHITE);
+    private final BitmapFont instructionFont =
+            BitmapFont.get(new Font("Arial", Font.PLAIN, 14), new Color(255, 255, 255, 200));
+    private final BitmapFont versionFont =
+            BitmapFont.get(new Font("Arial", Font.PLAIN, 12), new Color(255, 255, 255, 150));
+
     public MainMenu(GameManager gameManager) {
         this.gameManager = gameManager;
         initializeUI();
@@ -92,6 +109,10 @@ public class MainMenu implements MouseListener {
     }
 
     private void drawBackground(Graphics2D g2d) {
+        if (backgroundImage == null) {
+            // May still have been loading when this screen was created
+            loadAssets();
+        }
         if (backgroundImage != null) {
             g2d.drawImage(backgroundImage, 0, 0, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT, null);
         } else {
@@ -106,23 +127,105 @@ public class MainMenu implements MouseListener {
     }
 
     private void drawTitle(Graphics2D g2d) {
-        // Title shadow
-        g2d.setColor(Color.BLACK);
-        g2d.setFont(new Font("Arial", Font.BOLD, 48));
-        FontMetrics fm = g2d.getFontMetrics();
         String title = "FLAPPY BIRD";
-        int titleX = (Constants.WINDOW_WIDTH - fm.stringWidth(title)) / 2;
-        g2d.drawString(title, titleX + 3, titleArea.y + 53);
+        int titleX = (Constants.WINDOW_WIDTH - titleFont.stringWidth(title)) / 2;
+
+        // Title shadow
+        titleShadowFont.drawString(g2d, title, titleX + 3, titleArea.y + 53);
 
         // Title text
-        g2d.setColor(Color.WHITE);
-        g2d.drawString(title, titleX, titleArea.y + 50);
+        titleFont.drawString(g2d, title, titleX, titleArea.y + 50);
 
         // Subtitle
-        g2d.setFont(new Font("Arial", Font.PLAIN, 18));
-        g2d.setColor(Color.YELLOW);
-        String subtitle = "Multi-Level Adventure";
-        fm = g2d.getFontMetrics();
-        int subtitleX = (Constants.WINDOW_WIDTH - fm.stringWidth(subtitle)) / 2;
-        g2d.drawString(subtitle, subtitleX, titleArea.y + 80);
-    }
\ No newline at end of file
+        subtitleFont.drawCentered(g2d, "Multi-Level Adventure", Constants.WINDOW_WIDTH / 2, titleArea.y + 80);
+    }
+
+    private void drawButton(Graphics2D g2d, Rectangle button, String text, boolean hovered) {
+        // Button background
+        if (hovered) {
+            g2d.setColor(new Color(255, 165, 0, 220));
+        } else {
+            g2d.setColor(new Color(34, 139, 34, 180));
+        }
+        g2d.fillRoundRect(button.x, button.y, button.width, button.height, 15, 15);
+
+        // Button border
+        g2d.setColor(Color.WHITE);
+        g2d.setStroke(new BasicStroke(2));
+        g2d.drawRoundRect(button.x, button.y, button.width, button.height, 15, 15);
+
+        // Button text
+        int textX = button.x + (button.width - buttonFont.stringWidth(text)) / 2;
+        int textY = button.y + (button.height + buttonFont.getAscent()) / 2;
+
+        // Text shadow
+        buttonShadowFont.drawString(g2d, text, textX + 1, textY + 1);
+
+        // Text
+        buttonFont.drawString(g2d, text, textX, textY);
+    }
+
+    private void drawInstructions(Graphics2D g2d) {
+        int startY = Constants.WINDOW_HEIGHT - 80;
+
+        for (int i = 0; i < INSTRUCTIONS.length; i++) {
+            int textX = (Constants.WINDOW_WIDTH - instructionFont.stringWidth(INSTRUCTIONS[i])) / 2;
+            instructionFont.drawString(g2d, INSTRUCTIONS[i], textX, startY + i * 20);
+        }
+    }
+
+    private void drawVersionInfo(Graphics2D g2d) {
+        int textX = Constants.WINDOW_WIDTH - versionFont.stringWidth(VERSION) - 10;
+        versionFont.drawString(g2d, VERSION, textX, Constants.WINDOW_HEIGHT - 10);
+    }
+
+    // Mouse event handlers
+    @Override
+    public void mouseClicked(MouseEvent e) {
+        // Both screens listen to the window; only react while the menu is shown
+        if (gameManager.getCurrentState() != Constants.GameState.MAIN_MENU) return;
+
+        Point clickPoint = e.getPoint();
+
+        if (startButton.contains(clickPoint)) {
+            gameManager.requestStart();
+        } else if (levelSelectButton.contains(clickPoint)) {
+            // No level select screen yet
+        } else if (exitButton.contains(clickPoint)) {
+            System.exit(0);
+        }
+    }
+
+    @Override
+    public void mousePressed(MouseEvent e) {
+        mousePressed = true;
+    }
+
+    @Override
+    public void mouseReleased(MouseEvent e) {
+        mousePressed = false;
+    }
+
+    @Override
+    public void mouseEntered(MouseEvent e) {
+        // Not used
+    }
+
+    @Override
+    public void mouseExited(MouseEvent e) {
+        hoveredButton = null;
+    }
+
+    public void mouseMoved(MouseEvent e) {
+        Point mousePoint = e.getPoint();
+        hoveredButton = null;
+
+        if (startButton.contains(mousePoint)) {
+            hoveredButton = startButton;
+        } else if (levelSelectButton.contains(mousePoint)) {
+            hoveredButton = levelSelectButton;
+        } else if (exitButton.contains(mousePoint)) {
+            hoveredButton = exitButton;
+        }
+    }
+}
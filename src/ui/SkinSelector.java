@@ -2,10 +2,18 @@ package ui;
 
 public class SkinSelector {
     public static String getSkinBirdLevel(int level) {
-        return "/assets/bird/level" + level + "_skin.png";
+        return getSkinBird("level" + level);
     }
 
     public static String getSkinObslevel(int level) {
-        return "/assets/obstacle/level" + level + "_skin.png";
+        return getSkinObstacle("level" + level);
+    }
+
+    public static String getSkinBird(String skinKey) {
+        return "/assets/bird/" + skinKey + "_skin.png";
+    }
+
+    public static String getSkinObstacle(String skinKey) {
+        return "/assets/obstacle/" + skinKey + "_skin.png";
     }
 }
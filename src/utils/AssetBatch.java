@@ -0,0 +1,61 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A group of asset loads that finish together, e.g. everything a level
+ * needs. Fill it on one thread before sharing it; after that progress can be
+ * polled from any thread.
+ */
+public class AssetBatch {
+    private final List<CompletableFuture<?>> loads = new ArrayList<>();
+
+    public AssetBatch add(CompletableFuture<?> load) {
+        loads.add(load);
+        return this;
+    }
+
+    public AssetBatch addAll(AssetBatch other) {
+        loads.addAll(other.loads);
+        return this;
+    }
+
+    /**
+     * Fraction of loads finished, from 0 to 1 (1 for an empty batch)
+     */
+    public float getProgress() {
+        if (loads.isEmpty()) return 1f;
+        int done = 0;
+        for (CompletableFuture<?> load : loads) {
+            if (load.isDone()) done++;
+        }
+        return (float) done / loads.size();
+    }
+
+    public boolean isDone() {
+        for (CompletableFuture<?> load : loads) {
+            if (!load.isDone()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Completes when every load in the batch has
+     */
+    public CompletableFuture<Void> whenDone() {
+        return CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Block until every load has finished
+     */
+    public void join() {
+        whenDone().join();
+    }
+
+    public int size() {
+        return loads.size();
+    }
+}
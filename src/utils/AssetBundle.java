@@ -0,0 +1,207 @@
+package utils;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Images baked ahead of time into one file of raw premultiplied ARGB pixels.
+ *
+ * The file is memory-mapped; getting an image bulk-copies its pixel run,
+ * row by row, into a fresh TYPE_INT_ARGB_PRE image with no PNG decoding.
+ * The images stay ordinary managed images, so Java2D can still cache them
+ * on the GPU (wrapping the mapping itself as a raster would rule that out).
+ *
+ * <pre>
+ * header  "FBAB" | u16 version | u16 reserved | i32 image count
+ * index   per image: u16 key length | UTF-8 key | i32 width | i32 height | i64 pixel offset
+ * pixels  width * height premultiplied ARGB ints per image
+ * </pre>
+ * All numbers are little-endian. Keys are the asset paths the game asks for.
+ * Re-bake after changing any image (see {@code main.AssetBaker}).
+ */
+public class AssetBundle {
+    private static final int MAGIC = 0x42414246; // "FBAB" read little-endian
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 12;
+
+    private static final AssetBundle EMPTY = new AssetBundle(ByteBuffer.allocate(0), new HashMap<>());
+    private static AssetBundle defaultBundle;
+
+    private final ByteBuffer data;
+    // key -> {width, height, offset}
+    private final Map<String, long[]> index;
+
+    private AssetBundle(ByteBuffer data, Map<String, long[]> index) {
+        this.data = data;
+        this.index = index;
+    }
+
+    /**
+     * Memory-map a bundle file. The mapping stays valid after the file is closed.
+     */
+    public static AssetBundle open(Path path) throws IOException {
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        data.order(ByteOrder.LITTLE_ENDIAN);
+        if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IOException("Not an asset bundle: " + path);
+        }
+        if (data.getShort(4) != VERSION) {
+            throw new IOException("Unsupported asset bundle version " + data.getShort(4));
+        }
+
+        // The index is a few dozen entries, read it once
+        int count = data.getInt(8);
+        Map<String, long[]> index = new HashMap<>();
+        int position = HEADER_SIZE;
+        try {
+            for (int i = 0; i < count; i++) {
+                int keyLength = data.getShort(position) & 0xFFFF;
+                byte[] key = new byte[keyLength];
+                data.get(position + 2, key);
+                position += 2 + keyLength;
+
+                long width = data.getInt(position);
+                long height = data.getInt(position + 4);
+                long offset = data.getLong(position + 8);
+                position += 16;
+                if (width <= 0 || height <= 0 || offset < 0 || offset + width * height * 4 > data.capacity()) {
+                    throw new IOException("Corrupt asset bundle entry " + i);
+                }
+                index.put(new String(key, StandardCharsets.UTF_8), new long[] {width, height, offset});
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Truncated asset bundle index", e);
+        }
+        return new AssetBundle(data, index);
+    }
+
+    /**
+     * The bundle at Constants.ASSET_BUNDLE_PATH, or an empty one if it has
+     * not been baked. Opened once and shared.
+     */
+    public static synchronized AssetBundle getDefault() {
+        if (defaultBundle == null) {
+            defaultBundle = EMPTY;
+            Path path = Paths.get(Constants.ASSET_BUNDLE_PATH);
+            if (Files.isRegularFile(path)) {
+                try {
+                    defaultBundle = open(path);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                    System.err.println("Bundel aset tidak bisa dibaca: " + path);
+                }
+            }
+        }
+        return defaultBundle;
+    }
+
+    public boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * Copy of a baked image, or null if the bundle does not have it
+     */
+    public BufferedImage getImage(String key) {
+        long[] entry = index.get(key);
+        if (entry == null) {
+            return null;
+        }
+        int width = (int) entry[0];
+        int height = (int) entry[1];
+        int offset = (int) entry[2];
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        IntBuffer pixels = data.slice(offset, width * height * 4).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            pixels.get(row);
+            image.getRaster().setDataElements(0, y, width, 1, row);
+        }
+        return image;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Writes bundles. Images are converted to premultiplied ARGB on the way in.
+     */
+    public static class Builder {
+        private final Map<String, BufferedImage> images = new LinkedHashMap<>();
+
+        public Builder add(String key, BufferedImage image) {
+            BufferedImage premultiplied = image;
+            if (image.getType() != BufferedImage.TYPE_INT_ARGB_PRE) {
+                premultiplied = new BufferedImage(image.getWidth(), image.getHeight(),
+                        BufferedImage.TYPE_INT_ARGB_PRE);
+                Graphics2D g2d = premultiplied.createGraphics();
+                g2d.drawImage(image, 0, 0, null);
+                g2d.dispose();
+            }
+            images.put(key, premultiplied);
+            return this;
+        }
+
+        public void write(Path path) throws IOException {
+            List<byte[]> keys = new ArrayList<>();
+            int indexSize = 0;
+            for (String key : images.keySet()) {
+                byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+                keys.add(bytes);
+                indexSize += 2 + bytes.length + 16;
+            }
+
+            // Pixel runs start 4-byte aligned so they can be read as ints
+            long offset = (HEADER_SIZE + indexSize + 3) & ~3L;
+            long total = offset;
+            for (BufferedImage image : images.values()) {
+                total += (long) image.getWidth() * image.getHeight() * 4;
+            }
+            if (total > Integer.MAX_VALUE) {
+                throw new IOException("Asset bundle would exceed 2 GB");
+            }
+
+            ByteBuffer out = ByteBuffer.allocate((int) total).order(ByteOrder.LITTLE_ENDIAN);
+            out.putInt(MAGIC).putShort(VERSION).putShort((short) 0).putInt(images.size());
+            int i = 0;
+            for (BufferedImage image : images.values()) {
+                byte[] key = keys.get(i++);
+                out.putShort((short) key.length).put(key);
+                out.putInt(image.getWidth()).putInt(image.getHeight()).putLong(offset);
+                offset += (long) image.getWidth() * image.getHeight() * 4;
+            }
+
+            out.position((HEADER_SIZE + indexSize + 3) & ~3);
+            IntBuffer pixels = out.asIntBuffer();
+            for (BufferedImage image : images.values()) {
+                int width = image.getWidth();
+                int[] row = new int[width];
+                for (int y = 0; y < image.getHeight(); y++) {
+                    image.getRaster().getDataElements(0, y, width, 1, row);
+                    pixels.put(row);
+                }
+            }
+            Files.write(path, out.array());
+        }
+    }
+}
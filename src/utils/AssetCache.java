@@ -0,0 +1,261 @@
+package utils;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Decoded assets kept within a memory budget.
+ *
+ * Every entry is charged the bytes it actually holds (pixels for images,
+ * bits for masks). When the total goes over budget the least recently used
+ * entries are dropped, except pinned ones and those still loading. Dropped
+ * entries are not gone for good: the next request for the key loads them
+ * again with the loader it brings along.
+ *
+ * A load runs once per key, either on the executor (async requests) or on
+ * the first thread that needs the result synchronously, whichever gets to
+ * it first. A blocking request therefore never waits on a task queued
+ * behind itself on a busy loader pool.
+ */
+public class AssetCache implements AssetCacheMXBean {
+    public static final String OBJECT_NAME = "flappybird:type=AssetCache";
+
+    private final Executor executor;
+    private long budgetBytes;
+
+    // Access order: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Integer> pinned = new HashMap<>();
+    private long usedBytes;
+
+    // Counters
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public AssetCache(long budgetBytes, Executor executor) {
+        if (budgetBytes <= 0) {
+            throw new IllegalArgumentException("Budget must be positive: " + budgetBytes);
+        }
+        this.budgetBytes = budgetBytes;
+        this.executor = executor;
+    }
+
+    /**
+     * Cached value for key, loading it on the calling thread if it is missing
+     */
+    public <T> T get(String key, Supplier<T> loader, ToLongFunction<? super T> sizeOf) {
+        Entry entry = lookup(key, loader, sizeOf);
+        load(entry);
+        return entry.<T>future().join();
+    }
+
+    /**
+     * Cached value for key, loading it on the executor if it is missing
+     */
+    public <T> CompletableFuture<T> getAsync(String key, Supplier<T> loader, ToLongFunction<? super T> sizeOf) {
+        Entry entry = lookup(key, loader, sizeOf);
+        if (!entry.claimed.get()) {
+            executor.execute(() -> load(entry));
+        }
+        return entry.future();
+    }
+
+    /**
+     * Cached value for key if it is loaded, otherwise null; never loads
+     */
+    public synchronized Object getIfLoaded(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null || !entry.value.isDone() || entry.value.isCompletedExceptionally()) {
+            return null;
+        }
+        hits++;
+        return entry.value.join();
+    }
+
+    private synchronized Entry lookup(String key, Supplier<?> loader, ToLongFunction<?> sizeOf) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hits++;
+            return entry;
+        }
+        misses++;
+        entry = new Entry(key, loader, sizeOf);
+        entries.put(key, entry);
+        return entry;
+    }
+
+    // Runs the loader unless another thread already took it
+    @SuppressWarnings("unchecked")
+    private void load(Entry entry) {
+        if (!entry.claimed.compareAndSet(false, true)) {
+            return;
+        }
+        Object value;
+        try {
+            value = entry.loader.get();
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                entries.remove(entry.key, entry);
+            }
+            entry.value.completeExceptionally(e);
+            return;
+        }
+
+        long bytes = value == null ? 0 : ((ToLongFunction<Object>) entry.sizeOf).applyAsLong(value);
+        synchronized (this) {
+            // Skip the charge if the entry was removed while loading
+            if (entries.get(entry.key) == entry) {
+                entry.bytes = bytes;
+                usedBytes += bytes;
+            }
+        }
+        entry.value.complete(value);
+        synchronized (this) {
+            evictOverBudget();
+        }
+    }
+
+    private void evictOverBudget() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (usedBytes > budgetBytes && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (!entry.value.isDone() || pinned.containsKey(entry.key)) {
+                continue;
+            }
+            iterator.remove();
+            usedBytes -= entry.bytes;
+            evictions++;
+        }
+    }
+
+    /**
+     * Keep key cached however long it goes unused. Pins nest: a key pinned
+     * twice stays pinned until unpinned twice. The key need not be loaded yet.
+     */
+    public synchronized void pin(String key) {
+        pinned.merge(key, 1, Integer::sum);
+    }
+
+    public synchronized void unpin(String key) {
+        Integer count = pinned.get(key);
+        if (count == null) return;
+        if (count > 1) {
+            pinned.put(key, count - 1);
+        } else {
+            pinned.remove(key);
+            evictOverBudget();
+        }
+    }
+
+    /**
+     * Drop every loaded entry whose key starts with prefix, pinned or not
+     */
+    public synchronized void removeAll(String keyPrefix) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.key.startsWith(keyPrefix) && entry.value.isDone()) {
+                iterator.remove();
+                usedBytes -= entry.bytes;
+            }
+        }
+    }
+
+    /**
+     * Publish the counters on the platform MBean server
+     */
+    public void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.println("Could not register asset cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Bytes held by an image's pixel data
+     */
+    public static long imageBytes(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    // Getters
+    @Override
+    public synchronized long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    @Override
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    @Override
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized int getPinnedCount() {
+        return pinned.size();
+    }
+
+    @Override
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    @Override
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    // Setters
+    @Override
+    public synchronized void setBudgetBytes(long budgetBytes) {
+        if (budgetBytes <= 0) {
+            throw new IllegalArgumentException("Budget must be positive: " + budgetBytes);
+        }
+        this.budgetBytes = budgetBytes;
+        evictOverBudget();
+    }
+
+    private static final class Entry {
+        final String key;
+        final Supplier<?> loader;
+        final ToLongFunction<?> sizeOf;
+        final CompletableFuture<Object> value = new CompletableFuture<>();
+        final AtomicBoolean claimed = new AtomicBoolean();
+        long bytes;
+
+        Entry(String key, Supplier<?> loader, ToLongFunction<?> sizeOf) {
+            this.key = key;
+            this.loader = loader;
+            this.sizeOf = sizeOf;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> CompletableFuture<T> future() {
+            return (CompletableFuture<T>) value;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package utils;
+
+/**
+ * JMX view of {@link AssetCache}. The budget can be changed at runtime.
+ */
+public interface AssetCacheMXBean {
+    long getBudgetBytes();
+
+    void setBudgetBytes(long budgetBytes);
+
+    long getUsedBytes();
+
+    int getEntryCount();
+
+    int getPinnedCount();
+
+    long getHits();
+
+    long getMisses();
+
+    long getEvictions();
+}
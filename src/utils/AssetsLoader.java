@@ -1,15 +1,43 @@
 package utils;
 
 import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
+/**
+ * Decodes game images on a small pool of background threads.
+ *
+ * Every load returns a future and is started at most once per key, so
+ * asking again for something already loading or loaded is cheap. Loads are
+ * grouped into {@link AssetBatch}es (menu, one level) so the game only
+ * waits for what the next screen needs. Everything decoded is kept in one
+ * memory-budgeted {@link AssetCache}.
+ */
 public class AssetsLoader {
-    private static Map<String, BufferedImage> imageCache = new HashMap<>();
-    private static boolean assetsLoaded = false;
+    private static final String IMAGE = "image:";
+    private static final String BACKGROUND = "background:";
+
+    private static final ExecutorService executor = Executors.newFixedThreadPool(Constants.ASSET_LOADER_THREADS,
+            new LoaderThreadFactory());
+    private static final AssetCache cache = new AssetCache(Constants.ASSET_CACHE_BUDGET_BYTES, executor);
+
+    // Where each image key loads from, so evicted images can be loaded again
+    private static final Map<String, String> imagePaths = new ConcurrentHashMap<>();
+    private static volatile boolean assetsLoaded = false;
 
     // Asset file names
     private static final String[] BIRD_ASSETS = {
@@ -40,73 +68,236 @@ public class AssetsLoader {
     };
 
     /**
-     * Load all game assets into memory
+     * Load all game assets into memory, blocking until they are in
      */
     public static void loadAllAssets() {
         if (assetsLoaded) return;
 
         System.out.println("Loading game assets...");
+        loadAllAssetsAsync().join();
 
-        // Load bird assets
-        for (int i = 0; i < BIRD_ASSETS.length; i++) {
-            String key = "bird_level" + (i + 1);
-            String path = Constants.ASSET_PATH_BIRDS + BIRD_ASSETS[i];
-            loadImage(key, path);
+        assetsLoaded = true;
+        System.out.println("Assets loading completed!");
+    }
+
+    /**
+     * Start loading every asset in parallel
+     */
+    public static AssetBatch loadAllAssetsAsync() {
+        AssetBatch batch = loadMenuAssets();
+        for (int level = 1; level <= BIRD_ASSETS.length; level++) {
+            batch.addAll(loadLevelAssets(level));
+        }
+        return batch;
+    }
+
+    /**
+     * Start loading the images the menus and game over screen use
+     */
+    public static AssetBatch loadMenuAssets() {
+        AssetBatch batch = new AssetBatch();
+        for (String asset : UI_ASSETS) {
+            String key = asset.replace(".png", "");
+            batch.add(loadImageAsync(key, Constants.ASSET_PATH_UI + asset));
+        }
+        return batch;
+    }
+
+    /**
+     * Start loading the bird, background and obstacle images of one level
+     */
+    public static AssetBatch loadLevelAssets(int level) {
+        AssetBatch batch = new AssetBatch();
+        int i = level - 1;
+        if (i >= 0 && i < BIRD_ASSETS.length) {
+            batch.add(loadImageAsync("bird_level" + level, Constants.ASSET_PATH_BIRDS + BIRD_ASSETS[i]));
+            batch.add(loadImageAsync("background_level" + level,
+                    Constants.ASSET_PATH_BACKGROUNDS + BACKGROUND_ASSETS[i]));
+            batch.add(loadImageAsync("obstacle_level" + level, Constants.ASSET_PATH_OBSTACLES + OBSTACLE_ASSETS[i]));
+        }
+        return batch;
+    }
+
+    /**
+     * Start loading a classpath image; a placeholder is stored if it is missing
+     */
+    public static CompletableFuture<BufferedImage> loadImageAsync(String key, String path) {
+        imagePaths.put(key, path);
+        return cache.getAsync(IMAGE + key, () -> loadImage(key, path), AssetCache::imageBytes);
+    }
+
+    /**
+     * Start loading a level background's parallax layers, back to front.
+     * Each layer is scaled to window height once, tiled to at least window
+     * width and stored in the screen's pixel layout, so it can be scrolled
+     * with at most two plain blits. Layers stop at the first one that
+     * cannot be read, so this completes with no layers if even the back one
+     * is missing.
+     */
+    public static CompletableFuture<BufferedImage[]> loadBackgroundAsync(String backgroundKey) {
+        return cache.getAsync(BACKGROUND + backgroundKey, () -> {
+            List<BufferedImage> layers = new ArrayList<>();
+            for (String path : getBackgroundPaths(backgroundKey)) {
+                try {
+                    BufferedImage image = readFile(path);
+                    if (image == null) {
+                        System.err.println("Gambar tidak bisa dibaca: " + path);
+                        break;
+                    }
+                    layers.add(toScrollStrip(image));
+                } catch (IOException e) {
+                    e.printStackTrace();
+                    break;
+                }
+            }
+            return layers.toArray(new BufferedImage[0]);
+        }, layers -> {
+            long bytes = 0;
+            for (BufferedImage layer : layers) {
+                bytes += AssetCache.imageBytes(layer);
+            }
+            return bytes;
+        });
+    }
+
+    public static String getBackgroundPath(String backgroundKey) {
+        return "asset/background/" + backgroundKey + ".png";
+    }
+
+    /**
+     * Files of a background's layers that exist, back to front. The back
+     * layer is always listed; front layers stop at the first one missing.
+     */
+    public static List<String> getBackgroundPaths(String backgroundKey) {
+        List<String> paths = new ArrayList<>();
+        paths.add(getBackgroundPath(backgroundKey));
+        for (int layer = 1; layer < Constants.PARALLAX_LAYER_SPEEDS.length; layer++) {
+            String path = getBackgroundPath(backgroundKey + "_" + layer);
+            if (!AssetBundle.getDefault().contains(path) && !new File(path).isFile()) {
+                break;
+            }
+            paths.add(path);
         }
+        return paths;
+    }
+
+    // Scale to window height, then repeat side by side until the strip covers the window
+    private static BufferedImage toScrollStrip(BufferedImage source) {
+        int height = Constants.WINDOW_HEIGHT;
+        int tileWidth = Math.max(1, Math.round((float) source.getWidth() * height / source.getHeight()));
+        int tiles = (Constants.WINDOW_WIDTH + tileWidth - 1) / tileWidth;
 
-        // Load background assets
-        for (int i = 0; i < BACKGROUND_ASSETS.length; i++) {
-            String key = "background_level" + (i + 1);
-            String path = Constants.ASSET_PATH_BACKGROUNDS + BACKGROUND_ASSETS[i];
-            loadImage(key, path);
+        BufferedImage strip = SpriteRegistry.createCompatibleImage(tileWidth * tiles, height,
+                source.getColorModel().getTransparency());
+        Graphics2D g2d = strip.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        for (int i = 0; i < tiles; i++) {
+            g2d.drawImage(source, i * tileWidth, 0, tileWidth, height, null);
         }
+        g2d.dispose();
+        return strip;
+    }
 
-        // Load obstacle assets
-        for (int i = 0; i < OBSTACLE_ASSETS.length; i++) {
-            String key = "obstacle_level" + (i + 1);
-            String path = Constants.ASSET_PATH_OBSTACLES + OBSTACLE_ASSETS[i];
-            loadImage(key, path);
+    /**
+     * Decode a classpath image, or copy it out of the baked bundle if it is
+     * in there; null if it does not exist
+     */
+    public static BufferedImage readResource(String path) throws IOException {
+        BufferedImage baked = AssetBundle.getDefault().getImage(path);
+        if (baked != null) {
+            return baked;
         }
+        URL imageUrl = AssetsLoader.class.getResource(path);
+        return imageUrl != null ? ImageIO.read(imageUrl) : null;
+    }
 
-        // Load UI assets
+    /**
+     * Same as {@link #readResource(String)} for an image file relative to the working directory
+     */
+    public static BufferedImage readFile(String path) throws IOException {
+        BufferedImage baked = AssetBundle.getDefault().getImage(path);
+        if (baked != null) {
+            return baked;
+        }
+        File file = new File(path);
+        return file.isFile() ? ImageIO.read(file) : null;
+    }
+
+    /**
+     * Classpath paths of every image this loader knows about, for baking
+     */
+    public static List<String> getAssetPaths() {
+        List<String> paths = new ArrayList<>();
         for (String asset : UI_ASSETS) {
-            String key = asset.replace(".png", "");
-            String path = Constants.ASSET_PATH_UI + asset;
-            loadImage(key, path);
+            paths.add(Constants.ASSET_PATH_UI + asset);
+        }
+        for (int i = 0; i < BIRD_ASSETS.length; i++) {
+            paths.add(Constants.ASSET_PATH_BIRDS + BIRD_ASSETS[i]);
+            paths.add(Constants.ASSET_PATH_BACKGROUNDS + BACKGROUND_ASSETS[i]);
+            paths.add(Constants.ASSET_PATH_OBSTACLES + OBSTACLE_ASSETS[i]);
         }
+        return paths;
+    }
 
-        assetsLoaded = true;
-        System.out.println("Assets loading completed!");
+    /**
+     * Keep a level background's layers cached while it is in use (pins nest)
+     */
+    public static void pinBackground(String backgroundKey) {
+        cache.pin(BACKGROUND + backgroundKey);
+    }
+
+    public static void unpinBackground(String backgroundKey) {
+        cache.unpin(BACKGROUND + backgroundKey);
+    }
+
+    /**
+     * The cache every decoded asset goes through
+     */
+    public static AssetCache getCache() {
+        return cache;
     }
 
     /**
-     * Load individual image and store in cache
+     * Run any loading work (decoding, scaling, mask building) on the loader threads
      */
-    private static void loadImage(String key, String path) {
+    public static <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /**
+     * Load individual image, falling back to a placeholder
+     */
+    private static BufferedImage loadImage(String key, String path) {
         try {
-            URL imageUrl = AssetsLoader.class.getResource(path);
-            if (imageUrl != null) {
-                BufferedImage image = ImageIO.read(imageUrl);
-                imageCache.put(key, image);
+            BufferedImage image = readResource(path);
+            if (image != null) {
                 System.out.println("Loaded: " + key);
+                return image;
             } else {
                 System.err.println("Asset not found: " + path);
                 // Create placeholder image
-                imageCache.put(key, createPlaceholderImage(50, 50));
+                return createPlaceholderImage(50, 50);
             }
         } catch (IOException e) {
             System.err.println("Error loading asset: " + path);
             e.printStackTrace();
             // Create placeholder image
-            imageCache.put(key, createPlaceholderImage(50, 50));
+            return createPlaceholderImage(50, 50);
         }
     }
 
     /**
-     * Get cached image by key
+     * Get cached image by key, or null if it was never requested or is still
+     * loading. An image dropped from the cache starts loading again and is
+     * back on a later call.
      */
     public static BufferedImage getImage(String key) {
-        return imageCache.get(key);
+        String path = imagePaths.get(key);
+        if (path == null) {
+            return null;
+        }
+        CompletableFuture<BufferedImage> image = loadImageAsync(key, path);
+        return image.getNow(null);
     }
 
     /**
@@ -163,8 +354,21 @@ public class AssetsLoader {
      * Clear all cached assets (for memory management)
      */
     public static void clearAssets() {
-        imageCache.clear();
+        cache.removeAll(IMAGE);
+        cache.removeAll(BACKGROUND);
         assetsLoaded = false;
         System.out.println("Assets cleared from memory");
     }
+
+    // Loader threads never keep the game from exiting
+    private static class LoaderThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "asset-loader-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package utils;
+
+/**
+ * Per-pixel collision shape of a sprite, packed one bit per pixel into
+ * {@code long} words per row. Built once from the sprite's alpha channel at
+ * its draw size; overlap tests then AND whole words instead of reading pixels.
+ */
+public final class CollisionMask {
+    // Pixels at least this opaque count as solid
+    public static final int ALPHA_THRESHOLD = 128;
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long[] bits;
+
+    private CollisionMask(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.bits = new long[wordsPerRow * height];
+    }
+
+    /**
+     * Build a mask from ARGB pixels laid out row by row
+     */
+    public static CollisionMask fromArgb(int[] argb, int width, int height) {
+        CollisionMask mask = new CollisionMask(width, height);
+        for (int row = 0; row < height; row++) {
+            int rowStart = row * mask.wordsPerRow;
+            for (int column = 0; column < width; column++) {
+                if ((argb[row * width + column] >>> 24) >= ALPHA_THRESHOLD) {
+                    mask.bits[rowStart + (column >>> 6)] |= 1L << (column & 63);
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Test a mask drawn at (ax, ay) against a second shape drawn at (bx, by)
+     * with size bw x bh. The second mask is stretched vertically to bh; if it
+     * is null, or was not built at width bw, it counts as a solid rectangle.
+     */
+    public static boolean overlaps(CollisionMask a, int ax, int ay,
+                                   CollisionMask b, int bx, int by, int bw, int bh) {
+        int left = Math.max(ax, bx);
+        int right = Math.min(ax + a.width, bx + bw);
+        int top = Math.max(ay, by);
+        int bottom = Math.min(ay + a.height, by + bh);
+        if (left >= right || top >= bottom) {
+            return false;
+        }
+
+        boolean solid = b == null || b.width != bw || b.height == 0;
+        for (int y = top; y < bottom; y++) {
+            int rowA = y - ay;
+            int rowB = solid ? 0 : (int) ((long) (y - by) * b.height / bh);
+
+            for (int column = left; column < right; column += 64) {
+                int span = Math.min(64, right - column);
+                long limit = span == 64 ? -1L : (1L << span) - 1;
+
+                long wordA = a.rowBits(rowA, column - ax) & limit;
+                if (wordA == 0) {
+                    continue;
+                }
+                long wordB = solid ? limit : b.rowBits(rowB, column - bx);
+                if ((wordA & wordB) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 64 pixels of a row starting at column (bit 0 = column); pixels outside the mask are clear
+     */
+    long rowBits(int row, int column) {
+        if (column >= width || column <= -64) {
+            return 0L;
+        }
+        int word = Math.floorDiv(column, 64);
+        int shift = Math.floorMod(column, 64);
+        long low = word(row, word) >>> shift;
+        long high = shift == 0 ? 0L : word(row, word + 1) << (64 - shift);
+        return low | high;
+    }
+
+    private long word(int row, int index) {
+        if (index < 0 || index >= wordsPerRow) {
+            return 0L;
+        }
+        return bits[row * wordsPerRow + index];
+    }
+
+    public boolean isSolid(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return false;
+        }
+        return (bits[y * wordsPerRow + (x >>> 6)] & (1L << (x & 63))) != 0;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Bytes held by the bit rows
+     */
+    public long getByteSize() {
+        return (long) bits.length * Long.BYTES;
+    }
+}
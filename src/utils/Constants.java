@@ -15,20 +15,31 @@ public class Constants {
     // Obstacle Settings
     public static final int OBSTACLE_WIDTH = 80;
     public static final int OBSTACLE_GAP = 200;
+    public static final int OBSTACLE_GAP_MIN = 140;         // narrowest gap endless levels shrink to
+    public static final int OBSTACLE_GAP_MARGIN = 100;      // gap never starts closer to the top
     public static final int OBSTACLE_SPAWN_DISTANCE = 300;
     public static final int OBSTACLE_COUNT = 4;
+    public static final int OBSTACLE_SPAWN_INTERVAL_MS = 2000;
+    public static final int OBSTACLE_SPAWN_INTERVAL_MIN_MS = 1200;
+    public static final int OBSTACLE_LOOKAHEAD = 8;         // pipe pairs generated ahead of spawning
+    public static final int OBSTACLE_CAPACITY = 64;
+    public static final boolean PIXEL_PERFECT_COLLISION = false;  // mask test after the rectangle test
 
-    // Game Speed (pixels per frame)
+    // Game Speed (pixels per tick)
     public static final int GAME_SPEED_LEVEL_1 = 3;
     public static final int GAME_SPEED_LEVEL_2 = 4;
     public static final int GAME_SPEED_LEVEL_3 = 5;
+    public static final int GAME_SPEED_MAX = 10;
 
     // Level Settings
-    public static final int TOTAL_LEVELS = 3;
+    public static final int TOTAL_LEVELS = 3;               // levels in the built-in pack
+    public static final String LEVEL_PACK_PATH = "asset/levels/levels.pack"; // used instead when present
     public static final int SCORE_TO_NEXT_LEVEL = 10;
+    public static final boolean ENDLESS_MODE = false;       // keep generating levels past TOTAL_LEVELS
 
     // Game States
     public enum GameState {
+        LOADING,
         MAIN_MENU,
         PLAYING,
         GAME_OVER,
@@ -40,6 +51,41 @@ public class Constants {
     public static final String ASSET_PATH_BIRDS = "/assets/birds/";
     public static final String ASSET_PATH_OBSTACLES = "/assets/obstacles/";
     public static final String ASSET_PATH_UI = "/assets/ui/";
+    public static final int ASSET_LOADER_THREADS =
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())); // decode threads
+    public static final long ASSET_CACHE_BUDGET_BYTES = 64L * 1024 * 1024; // decoded pixels kept in memory
+    public static final String ASSET_BUNDLE_PATH = "asset/assets.bundle";     // baked pixels, used when present
+
+    // High scores
+    public static final String HIGH_SCORE_LOG_PATH = "save/highscores.log";
+    public static final String HIGH_SCORE_SNAPSHOT_PATH = "save/highscores.dat";
+    public static final int HIGH_SCORES_PER_LEVEL = 10;
+    public static final int HIGH_SCORE_SYNC_INTERVAL_MS = 1000;  // longest a score waits to be fsynced
+    public static final int HIGH_SCORE_COMPACT_RECORDS = 1000;   // log length that triggers a snapshot
+
+    // Online leaderboard (server: net.LeaderboardServer)
+    public static final boolean LEADERBOARD_ENABLED = false;   // submit finished runs to LEADERBOARD_URL
+    public static final int LEADERBOARD_PORT = 8765;
+    public static final String LEADERBOARD_URL = "http://127.0.0.1:" + LEADERBOARD_PORT;
+    public static final int LEADERBOARD_TIMEOUT_MS = 2000;
+    public static final int LEADERBOARD_BACKLOG = 1024;         // pending connections the server queues
+    public static final int LEADERBOARD_MAX_CONNECTIONS = 10_000; // keep-alive connections held open
+    public static final int LEADERBOARD_SCORE_BUCKETS = 1 << 14; // scores ranked exactly below this
+    public static final int LEADERBOARD_TOP_SIZE = 100;         // named entries kept per level
+
+    // Online races (server: net.RaceServer, one BirdWorld bird per client)
+    public static final int RACE_PORT = 8766;
+    public static final int RACE_MAX_PLAYERS = 64;
+    public static final int RACE_LOBBY_MS = 3000;          // wait for more players after the first joins
+    public static final int RACE_RESTART_MS = 2000;        // pause between the last bird dying and the next run
+    public static final int RACE_TIMEOUT_MS = 5000;        // silent clients lose their bird
+    public static final int RACE_HISTORY_TICKS = 64;       // states kept as delta bases; also the input window
+    public static final int RACE_INPUT_REDUNDANCY = 16;    // past ticks of flaps repeated in every input packet
+    public static final int RACE_MAX_PACKET = 1200;        // stays under a typical MTU
+
+    // Parallax: scroll speed of each background layer (back to front) as a fraction of game speed.
+    // Layer 0 is asset/background/<key>.png, layer n is <key>_<n>.png and is optional.
+    public static final float[] PARALLAX_LAYER_SPEEDS = {0.2f, 0.5f, 0.8f};
 
     // UI Button Sizes
     public static final int BUTTON_WIDTH = 200;
@@ -53,4 +99,15 @@ public class Constants {
     // Game Timing
     public static final int FPS = 60;
     public static final int FRAME_DELAY = 1000 / FPS;
+    // Simulation ticks per second. Speeds, gravity and jump strength are per tick at this
+    // rate, so it is the physics rate, not a setting; FPS and interpolation keep rendering smooth.
+    public static final int TICK_RATE = 60;
+    public static final int MAX_TICKS_PER_FRAME = 5;  // catch-up limit before backlog is dropped
+    public static final boolean ACTIVE_RENDERING = true; // BufferStrategy page flipping instead of repaint()
+    public static final int METRICS_WINDOW_MS = 1000;    // rolling window of the frame/tick histograms
+    public static final int INPUT_QUEUE_CAPACITY = 256;  // EDT-to-game-thread input events, power of two
+
+    // Server-side session host (core.SessionHost): one timer wheel per worker thread
+    public static final int SESSION_WHEEL_SLOTS = 128;          // power of two
+    public static final int SESSION_WHEEL_RESOLUTION_US = 250;  // bucket width; 128 x 250 us spans two 60 Hz ticks
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * Log-linear histogram of durations in nanoseconds over a rolling window.
+ *
+ * Values land in buckets of 8 per power of two (about 12% precision), so
+ * recording is a couple of shifts and an array increment. Every time the
+ * window elapses the writer folds the buckets into an immutable
+ * {@link Summary} that other threads (overlay, JMX) read without locking.
+ *
+ * Each histogram has a single writer thread.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+    private final long windowNanos;
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count;
+    private long max;
+    private long windowStart;
+
+    private volatile Summary lastWindow = Summary.EMPTY;
+
+    public LatencyHistogram(long windowNanos) {
+        this.windowNanos = windowNanos;
+    }
+
+    /**
+     * Record one duration
+     *
+     * @param nowNanos current {@link System#nanoTime()}, used to roll the window
+     */
+    public void record(long valueNanos, long nowNanos) {
+        if (windowStart == 0) {
+            windowStart = nowNanos;
+        } else if (nowNanos - windowStart >= windowNanos) {
+            roll(nowNanos);
+        }
+
+        counts[bucketOf(valueNanos)]++;
+        count++;
+        if (valueNanos > max) {
+            max = valueNanos;
+        }
+    }
+
+    /**
+     * Statistics of the last completed window
+     */
+    public Summary getLastWindow() {
+        return lastWindow;
+    }
+
+    private void roll(long nowNanos) {
+        lastWindow = new Summary(count, percentile(0.50), percentile(0.99), max, nowNanos - windowStart);
+
+        Arrays.fill(counts, 0);
+        count = 0;
+        max = 0;
+        windowStart = nowNanos;
+    }
+
+    private long percentile(double fraction) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(count * fraction);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(max, bucketUpperBound(i));
+            }
+        }
+        return max;
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return value < 0 ? 0 : (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        int subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lower = (long) (SUB_BUCKETS + subBucket) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * Immutable statistics of one window
+     */
+    public static final class Summary {
+        static final Summary EMPTY = new Summary(0, 0, 0, 0, 0);
+
+        private final long count;
+        private final long p50;
+        private final long p99;
+        private final long max;
+        private final long windowNanos;
+
+        Summary(long count, long p50, long p99, long max, long windowNanos) {
+            this.count = count;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.max = max;
+            this.windowNanos = windowNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Recorded values per second over the window
+         */
+        public double getRate() {
+            return windowNanos == 0 ? 0.0 : count * 1e9 / windowNanos;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package utils;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures what the game loop actually does: update duration, render
+ * duration, frame interval and dropped frames, each summarized over rolling
+ * windows. Updates are recorded by the game thread, frames by whichever
+ * thread renders.
+ */
+public class PerformanceMonitor implements PerformanceMonitorMXBean {
+    public static final String OBJECT_NAME = "flappybird:type=PerformanceMonitor";
+
+    // A frame arriving this many periods late means frames were missed
+    private static final double LATE_FRAME_FACTOR = 1.5;
+
+    private final long framePeriodNanos;
+    private final LatencyHistogram updateTimes;
+    private final LatencyHistogram renderTimes;
+    private final LatencyHistogram frameIntervals;
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final AtomicLong droppedTicks = new AtomicLong();
+
+    private long lastFrameStart; // render thread only
+
+    public PerformanceMonitor(int targetFps, long windowNanos) {
+        this.framePeriodNanos = 1000000000L / targetFps;
+        this.updateTimes = new LatencyHistogram(windowNanos);
+        this.renderTimes = new LatencyHistogram(windowNanos);
+        this.frameIntervals = new LatencyHistogram(windowNanos);
+    }
+
+    /**
+     * Publish this monitor on the platform MBean server
+     */
+    public void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.println("Could not register performance monitor: " + e.getMessage());
+        }
+    }
+
+    public void recordUpdate(long startNanos, long endNanos) {
+        updateTimes.record(endNanos - startNanos, endNanos);
+    }
+
+    public void recordRender(long startNanos, long endNanos) {
+        renderTimes.record(endNanos - startNanos, endNanos);
+
+        if (lastFrameStart != 0) {
+            long interval = startNanos - lastFrameStart;
+            frameIntervals.record(interval, endNanos);
+            if (interval > framePeriodNanos * LATE_FRAME_FACTOR) {
+                droppedFrames.addAndGet(Math.round((double) interval / framePeriodNanos) - 1);
+            }
+        }
+        lastFrameStart = startNanos;
+    }
+
+    /**
+     * Count simulation ticks skipped because the loop fell too far behind
+     */
+    public void recordDroppedTicks(long ticks) {
+        droppedTicks.addAndGet(ticks);
+    }
+
+    public LatencyHistogram.Summary getUpdateTimes() {
+        return updateTimes.getLastWindow();
+    }
+
+    public LatencyHistogram.Summary getRenderTimes() {
+        return renderTimes.getLastWindow();
+    }
+
+    public LatencyHistogram.Summary getFrameIntervals() {
+        return frameIntervals.getLastWindow();
+    }
+
+    // PerformanceMonitorMXBean
+    @Override
+    public double getFramesPerSecond() {
+        return frameIntervals.getLastWindow().getRate();
+    }
+
+    @Override
+    public long getFrameIntervalP50Micros() {
+        return frameIntervals.getLastWindow().getP50() / 1000;
+    }
+
+    @Override
+    public long getFrameIntervalP99Micros() {
+        return frameIntervals.getLastWindow().getP99() / 1000;
+    }
+
+    @Override
+    public long getFrameIntervalMaxMicros() {
+        return frameIntervals.getLastWindow().getMax() / 1000;
+    }
+
+    @Override
+    public double getTicksPerSecond() {
+        return updateTimes.getLastWindow().getRate();
+    }
+
+    @Override
+    public long getUpdateTimeP50Micros() {
+        return updateTimes.getLastWindow().getP50() / 1000;
+    }
+
+    @Override
+    public long getUpdateTimeP99Micros() {
+        return updateTimes.getLastWindow().getP99() / 1000;
+    }
+
+    @Override
+    public long getUpdateTimeMaxMicros() {
+        return updateTimes.getLastWindow().getMax() / 1000;
+    }
+
+    @Override
+    public long getRenderTimeP50Micros() {
+        return renderTimes.getLastWindow().getP50() / 1000;
+    }
+
+    @Override
+    public long getRenderTimeP99Micros() {
+        return renderTimes.getLastWindow().getP99() / 1000;
+    }
+
+    @Override
+    public long getRenderTimeMaxMicros() {
+        return renderTimes.getLastWindow().getMax() / 1000;
+    }
+
+    @Override
+    public long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    @Override
+    public long getDroppedTicks() {
+        return droppedTicks.get();
+    }
+}
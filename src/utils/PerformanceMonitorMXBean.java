@@ -0,0 +1,33 @@
+package utils;
+
+/**
+ * JMX view of {@link PerformanceMonitor}. Durations are in microseconds and
+ * cover the last completed window.
+ */
+public interface PerformanceMonitorMXBean {
+    double getFramesPerSecond();
+
+    long getFrameIntervalP50Micros();
+
+    long getFrameIntervalP99Micros();
+
+    long getFrameIntervalMaxMicros();
+
+    double getTicksPerSecond();
+
+    long getUpdateTimeP50Micros();
+
+    long getUpdateTimeP99Micros();
+
+    long getUpdateTimeMaxMicros();
+
+    long getRenderTimeP50Micros();
+
+    long getRenderTimeP99Micros();
+
+    long getRenderTimeMaxMicros();
+
+    long getDroppedFrames();
+
+    long getDroppedTicks();
+}
@@ -0,0 +1,48 @@
+package utils;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+
+/**
+ * Immutable, display-ready image shared by every entity that draws it.
+ * Instances come from {@link SpriteRegistry}; never modify the image.
+ */
+public final class Sprite {
+    private final BufferedImage image;
+    private final Color fallbackColor;
+
+    Sprite(BufferedImage image, Color fallbackColor) {
+        this.image = image;
+        this.fallbackColor = fallbackColor;
+    }
+
+    public void draw(Graphics g, int x, int y, int width, int height) {
+        if (image == null) {
+            // jika gambar tidak ada atau erro digantikan dengan warna
+            g.setColor(fallbackColor);
+            g.fillRect(x, y, width, height);
+        } else if (image.getWidth() == width && image.getHeight() == height) {
+            // Pre-scaled, plain blit
+            g.drawImage(image, x, y, null);
+        } else {
+            g.drawImage(image, x, y, width, height, null);
+        }
+    }
+
+    public boolean isLoaded() {
+        return image != null;
+    }
+
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    public int getWidth() {
+        return image != null ? image.getWidth() : 0;
+    }
+
+    public int getHeight() {
+        return image != null ? image.getHeight() : 0;
+    }
+}
@@ -0,0 +1,156 @@
+package utils;
+
+import ui.SkinSelector;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+/**
+ * Owns one {@link Sprite} per skin, decoded and converted once and then
+ * shared by every bird and obstacle that uses it. Sprites and masks live in
+ * the shared {@link AssetCache}, so skins that go unused may be dropped and
+ * are decoded again when next needed.
+ */
+public class SpriteRegistry {
+    private static final String SPRITE = "sprite:";
+    private static final String MASK = "mask:";
+
+    /**
+     * Decode the sprites of a skin ahead of time so the first frame does not stall
+     */
+    public static void preload(String skinKey) {
+        getBirdSprite(skinKey);
+        getObstacleSprite(skinKey);
+    }
+
+    /**
+     * Bird sprite of a skin, pre-scaled to the bird draw size
+     */
+    public static Sprite getBirdSprite(String skinKey) {
+        String path = SkinSelector.getSkinBird(skinKey);
+        return AssetsLoader.getCache().get(SPRITE + path,
+                () -> loadSprite(path, Constants.BIRD_WIDTH, Constants.BIRD_HEIGHT, Color.RED),
+                SpriteRegistry::spriteBytes);
+    }
+
+    /**
+     * Obstacle sprite of a skin; obstacles vary in height so it keeps its native size
+     */
+    public static Sprite getObstacleSprite(String skinKey) {
+        String path = SkinSelector.getSkinObstacle(skinKey);
+        return AssetsLoader.getCache().get(SPRITE + path,
+                () -> loadSprite(path, 0, 0, Color.RED),
+                SpriteRegistry::spriteBytes);
+    }
+
+    /**
+     * Collision mask of the bird sprite at its draw size, or null if the sprite is missing
+     */
+    public static CollisionMask getBirdMask(String skinKey) {
+        Sprite sprite = getBirdSprite(skinKey);
+        return getMask(SkinSelector.getSkinBird(skinKey), sprite, Constants.BIRD_WIDTH, Constants.BIRD_HEIGHT);
+    }
+
+    /**
+     * Collision mask of the obstacle sprite scaled to the obstacle width at its
+     * native height (stretched vertically at test time), or null if the sprite is missing
+     */
+    public static CollisionMask getObstacleMask(String skinKey) {
+        Sprite sprite = getObstacleSprite(skinKey);
+        return getMask(SkinSelector.getSkinObstacle(skinKey), sprite, Constants.OBSTACLE_WIDTH, sprite.getHeight());
+    }
+
+    private static CollisionMask getMask(String path, Sprite sprite, int width, int height) {
+        if (!sprite.isLoaded() || width <= 0 || height <= 0) {
+            return null;
+        }
+        return AssetsLoader.getCache().get(MASK + path, () -> {
+            BufferedImage image = sprite.getImage();
+            if (image.getWidth() != width || image.getHeight() != height) {
+                image = toCompatibleImage(image, width, height);
+            }
+            int[] argb = image.getRGB(0, 0, width, height, null, 0, width);
+            return CollisionMask.fromArgb(argb, width, height);
+        }, CollisionMask::getByteSize);
+    }
+
+    /**
+     * Keep a skin's sprites and masks cached while it is in use (pins nest)
+     */
+    public static void pin(String skinKey) {
+        for (String key : cacheKeys(skinKey)) {
+            AssetsLoader.getCache().pin(key);
+        }
+    }
+
+    public static void unpin(String skinKey) {
+        for (String key : cacheKeys(skinKey)) {
+            AssetsLoader.getCache().unpin(key);
+        }
+    }
+
+    private static String[] cacheKeys(String skinKey) {
+        String bird = SkinSelector.getSkinBird(skinKey);
+        String obstacle = SkinSelector.getSkinObstacle(skinKey);
+        return new String[] {SPRITE + bird, MASK + bird, SPRITE + obstacle, MASK + obstacle};
+    }
+
+    private static long spriteBytes(Sprite sprite) {
+        return sprite.isLoaded() ? AssetCache.imageBytes(sprite.getImage()) : 0;
+    }
+
+    /**
+     * Drop every sprite (for memory management)
+     */
+    public static void clear() {
+        AssetsLoader.getCache().removeAll(SPRITE);
+        AssetsLoader.getCache().removeAll(MASK);
+    }
+
+    private static Sprite loadSprite(String skinPath, int width, int height, Color fallbackColor) {
+        try {
+            BufferedImage decoded = AssetsLoader.readResource(skinPath);
+            if (decoded != null) {
+                return new Sprite(toCompatibleImage(decoded, width, height), fallbackColor);
+            }
+            System.err.println("Gambar tidak ditemukan: " + skinPath);
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.err.println("Kesalahan saat memuat gambar: " + skinPath);
+        }
+        return new Sprite(null, fallbackColor);
+    }
+
+    /**
+     * Copy an image into the screen's native pixel layout, optionally
+     * scaling it, so drawing it later is a straight blit
+     */
+    public static BufferedImage toCompatibleImage(BufferedImage source, int width, int height) {
+        int targetWidth = width > 0 ? width : source.getWidth();
+        int targetHeight = height > 0 ? height : source.getHeight();
+
+        BufferedImage target = createCompatibleImage(targetWidth, targetHeight, Transparency.TRANSLUCENT);
+        Graphics2D g2d = target.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        g2d.dispose();
+        return target;
+    }
+
+    /**
+     * Blank image in the screen's native pixel layout
+     *
+     * @param transparency one of the {@link Transparency} constants
+     */
+    public static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, transparency == Transparency.OPAQUE
+                    ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice()
+                .getDefaultConfiguration();
+        return config.createCompatibleImage(width, height, transparency);
+    }
+}